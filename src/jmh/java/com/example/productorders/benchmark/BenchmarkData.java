@@ -0,0 +1,40 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.model.Product;
+import com.example.productorders.model.Supplier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic fixtures shared by the benchmarks. */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Supplier> suppliers(int size) {
+        List<Supplier> suppliers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            suppliers.add(new Supplier((long) i + 1, "Supplier " + i, "908-897-" + String.format("%04d", i % 10000), "supplier" + i + "@email.com"));
+        }
+        return suppliers;
+    }
+
+    static List<Product> products(int size) {
+        List<Supplier> suppliers = suppliers(Math.max(1, size / 100));
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product((long) i + 1, "Product " + i, 10.0 + i % 500, 100.0 + i % 50, suppliers.get(i % suppliers.size())));
+        }
+        return products;
+    }
+
+    static List<ProductDTO> productDTOs(int size, Long supplierId) {
+        List<ProductDTO> productDTOs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            productDTOs.add(new ProductDTO("Product " + i, 10.0 + i % 500, 100.0 + i % 50, supplierId));
+        }
+        return productDTOs;
+    }
+}
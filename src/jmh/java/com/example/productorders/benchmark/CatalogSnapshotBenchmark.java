@@ -0,0 +1,118 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.CatalogStatsDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.DTO.ProductFiguresDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.model.Product;
+import com.example.productorders.model.Supplier;
+import com.example.productorders.service.CatalogSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the columnar catalog snapshot, with the same catalog held as a list of detached
+ * {@link Product} entities for comparison. Setup prints the heap each representation retains.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class CatalogSnapshotBenchmark {
+
+    private static final ProductFilterDTO PRICE_AND_STOCK = new ProductFilterDTO(100.0, 500.0, null, 20.0, null);
+
+    @Param({"10000000"})
+    private int products;
+
+    @Param({"1000"})
+    private int suppliers;
+
+    private CatalogSnapshot snapshot;
+    private List<Product> entities;
+
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        snapshot = buildSnapshot();
+        long afterSnapshot = usedHeap();
+
+        Random random = new Random(42);
+        Supplier[] supplierEntities = new Supplier[suppliers];
+        for (int i = 0; i < suppliers; i++) {
+            supplierEntities[i] = new Supplier(i + 1L, "Supplier " + (i + 1), "555-0100", "supplier@example.com");
+        }
+        entities = new ArrayList<>(products);
+        for (int id = 1; id <= products; id++) {
+            Supplier supplier = supplierEntities[random.nextInt(suppliers)];
+            entities.add(new Product((long) id, "Product " + id, random.nextInt(100_000) / 100.0, (double) random.nextInt(100), supplier));
+        }
+        long afterEntities = usedHeap();
+
+        System.out.printf("%nsnapshot: %d MB, entities: %d MB%n", (afterSnapshot - before) >> 20, (afterEntities - afterSnapshot) >> 20);
+    }
+
+    // Separate so the builder's arrays are unreachable once it returns
+    private CatalogSnapshot buildSnapshot() {
+        Random random = new Random(42);
+        CatalogSnapshot.Builder builder = new CatalogSnapshot.Builder(products);
+        for (int id = 1; id <= products; id++) {
+            builder.add(id, 1L + random.nextInt(suppliers), random.nextInt(100_000) / 100.0, random.nextInt(100));
+        }
+        return builder.build(Instant.now());
+    }
+
+    @Benchmark
+    public CatalogStatsDTO stats() {
+        return snapshot.stats(PRICE_AND_STOCK, 10);
+    }
+
+    @Benchmark
+    public CatalogStatsDTO statsForSupplier() {
+        return snapshot.stats(new ProductFilterDTO(100.0, 500.0, null, 20.0, 42L), 10);
+    }
+
+    @Benchmark
+    public List<SupplierSummaryDTO> bySupplier() {
+        return snapshot.bySupplier(PRICE_AND_STOCK, 10);
+    }
+
+    @Benchmark
+    public List<ProductFiguresDTO> top100ByValue() {
+        return snapshot.top(PRICE_AND_STOCK, CatalogSnapshot.Metric.VALUE, 100);
+    }
+
+    /** The stats() figures computed the way ad-hoc code over loaded entities would. */
+    @Benchmark
+    public double entityStreamInventoryValue() {
+        return entities.parallelStream()
+                .filter(p -> p.getPrice() >= 100.0 && p.getPrice() < 500.0 && p.getStock() < 20.0)
+                .mapToDouble(p -> p.getPrice() * p.getStock())
+                .sum();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.PageDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.ProductordersApplication;
+import com.example.productorders.repository.ProductSort;
+import com.example.productorders.service.ProductService;
+import com.example.productorders.util.KeysetCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of filtered, sorted product pages (100 rows) through {@code ProductService}, against Postgres seeded
+ * with {@code rows} products spread over 1000 suppliers: prices uniform in [0, 1000), stock uniform in [0, 100).
+ * Runs in a throwaway {@code filter_benchmark} schema of the configured database, created and dropped with the
+ * application context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    private static final int SUPPLIERS = 1000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"5000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private String priceCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductordersApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments rather than default properties, so they win over application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:postgresql://localhost:5432/product_info?currentSchema=filter_benchmark",
+                        "--spring.jpa.properties.hibernate.default_schema=filter_benchmark",
+                        "--spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.cache.type=none",
+                        "--logging.level.root=WARN");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO supplier (id, name, phone_num, email) " +
+                "SELECT g, 'Supplier ' || g, '555-0100', 'supplier' || g || '@example.com' FROM generate_series(1, ?) g", SUPPLIERS);
+        jdbcTemplate.update("INSERT INTO product (id, name, price, stock, supplier_id) " +
+                "SELECT g, 'Product ' || g, round((random() * 1000)::numeric, 2), floor(random() * 100), 1 + g % ? " +
+                "FROM generate_series(1, ?) g", SUPPLIERS, rows);
+        jdbcTemplate.execute("ANALYZE product");
+
+        productService = context.getBean(ProductService.class);
+        priceCursor = KeysetCursor.encode(ProductSort.PRICE.getParameter(), 30.0, 0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Priced 10-50, stock below 5, one supplier, cheapest first. */
+    @Benchmark
+    public PageDTO<ProductDTO> supplierPriceAndStock() {
+        return productService.getFilteredProductPage(new ProductFilterDTO(10.0, 50.0, null, 5.0, 42L), ProductSort.PRICE, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PageDTO<ProductDTO> priceRange() {
+        return productService.getFilteredProductPage(new ProductFilterDTO(10.0, 50.0, null, null, null), ProductSort.PRICE, null, PAGE_SIZE);
+    }
+
+    /** A later page of the same range, resuming from a cursor in its middle. */
+    @Benchmark
+    public PageDTO<ProductDTO> priceRangeFromCursor() {
+        return productService.getFilteredProductPage(new ProductFilterDTO(10.0, 50.0, null, null, null), ProductSort.PRICE, priceCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PageDTO<ProductDTO> stockBelowByPriceDesc() {
+        return productService.getFilteredProductPage(new ProductFilterDTO(null, null, null, 5.0, null), ProductSort.PRICE_DESC, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public PageDTO<ProductDTO> supplierByStock() {
+        return productService.getFilteredProductPage(new ProductFilterDTO(null, null, null, null, 42L), ProductSort.STOCK, null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.config.InventoryProperties;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.model.Product;
+import com.example.productorders.model.Supplier;
+import com.example.productorders.service.CatalogVersions;
+import com.example.productorders.service.ProductService;
+import com.example.productorders.service.SupplierService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Entity to DTO mapping in the services, without any database access. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int size;
+
+    private ProductService productService;
+    private SupplierService supplierService;
+    private List<Product> products;
+    private List<Supplier> suppliers;
+
+    @Setup
+    public void setUp() {
+        productService = new ProductService(null, null, new PaginationProperties(), null, new CatalogVersions(), null, new SimpleMeterRegistry());
+        supplierService = new SupplierService(null, new PaginationProperties(), new InventoryProperties(), new CatalogVersions(), null, null);
+        products = BenchmarkData.products(size);
+        suppliers = BenchmarkData.suppliers(size);
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productService.fromEntityToDTO(products.get(0));
+    }
+
+    @Benchmark
+    public List<ProductDTO> productListToDTOs() {
+        return productService.fromEntityToDTOList(products);
+    }
+
+    @Benchmark
+    public List<SupplierDTO> supplierListToDTOs() {
+        return supplierService.fromEntityToDTOList(suppliers);
+    }
+}
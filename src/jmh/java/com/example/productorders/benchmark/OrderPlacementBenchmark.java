@@ -0,0 +1,88 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.OrderDTO;
+import com.example.productorders.DTO.OrderLineDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.ProductordersApplication;
+import com.example.productorders.service.OrderService;
+import com.example.productorders.service.ProductService;
+import com.example.productorders.service.SupplierService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders placed by 64 concurrent clients, each with one to three lines over a few products, so group commit has
+ * concurrent orders to batch and the stock updates contend for the same rows. Throughput gives orders per second
+ * and sample time the latency percentiles. Runs against the datasource configured in application.properties (the
+ * docker-compose Postgres), since the commit being shared is what is measured.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(64)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderPlacementBenchmark {
+
+    @Param({"20"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductordersApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.cache.type=none", "logging.level.root=WARN")
+                .run();
+
+        orderService = context.getBean(OrderService.class);
+        ProductService productService = context.getBean(ProductService.class);
+        SupplierDTO supplier = context.getBean(SupplierService.class)
+                .saveSupplier(new SupplierDTO("Benchmark Supplier", "908-897-0980", "supplier@email.com"));
+        productIds = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            productIds.add(productService.saveProduct(
+                    new ProductDTO("Benchmark Product " + i, 5.0, 1_000_000_000.0, supplier.getId())).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDTO placeOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderLineDTO> lines = new ArrayList<>();
+        for (int line = 0, count = 1 + random.nextInt(3); line < count; line++) {
+            lines.add(new OrderLineDTO(productIds.get(random.nextInt(products)), 1.0));
+        }
+        return orderService.placeOrder(new OrderDTO(lines));
+    }
+}
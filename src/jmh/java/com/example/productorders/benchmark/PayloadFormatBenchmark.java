@@ -0,0 +1,78 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.service.PayloadFormat;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and decoding a product page in each {@link PayloadFormat}. Setup prints the raw and gzipped payload
+ * sizes, which JMH has no column for.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private PayloadFormat format;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<ProductDTO> productDTOs;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        var mapper = format.mapperFrom(Jackson2ObjectMapperBuilder.json().build());
+        writer = mapper.writer();
+        reader = mapper.readerFor(ProductDTO[].class);
+        productDTOs = new ArrayList<>(size);
+        for (ProductDTO productDTO : BenchmarkData.productDTOs(size, 1L)) {
+            productDTO.setId((long) productDTOs.size() + 1);
+            productDTOs.add(productDTO);
+        }
+        encoded = writer.writeValueAsBytes(productDTOs);
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n%s, %d products: %d bytes, %d gzipped%n", format, size, encoded.length, gzipped.size());
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(productDTOs);
+    }
+
+    @Benchmark
+    public ProductDTO[] decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.ProductSearchHitDTO;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.service.ProductSearchService;
+import com.example.productorders.service.SearchMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the product name index. Names are three words drawn from a fixed vocabulary, so each word
+ * occurs in roughly {@code 3 * products / vocabulary} names.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    @Param({"1000000"})
+    private int products;
+
+    @Param({"20000"})
+    private int vocabulary;
+
+    private ProductSearchService productSearchService;
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[vocabulary];
+        for (int i = 0; i < vocabulary; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 4 + random.nextInt(6); word.length() < length; ) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+
+        productSearchService = new ProductSearchService(null, null, new PaginationProperties());
+        for (int id = 1; id <= products; id++) {
+            productSearchService.index((long) id, words[random.nextInt(vocabulary)] + " " + words[random.nextInt(vocabulary)] + " " + words[random.nextInt(vocabulary)]);
+        }
+    }
+
+    @Benchmark
+    public List<ProductSearchHitDTO> singleWord() {
+        return productSearchService.search(words[7], SearchMode.FULL, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchHitDTO> twoWords() {
+        return productSearchService.search(words[7] + " " + words[11], SearchMode.FULL, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchHitDTO> autocompleteThreeLetters() {
+        return productSearchService.search(words[7].substring(0, 3), SearchMode.PREFIX, 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchHitDTO> autocompleteSecondWord() {
+        return productSearchService.search(words[7] + " " + words[11].substring(0, 2), SearchMode.PREFIX, 20);
+    }
+}
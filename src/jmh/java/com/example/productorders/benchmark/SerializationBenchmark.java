@@ -0,0 +1,60 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** JSON serialization of the response bodies, using the object mapper defaults Spring MVC starts from. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<ProductDTO> productDTOs;
+    private ProductSupplierDTO productSupplierDTO;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        productDTOs = new ArrayList<>(size);
+        for (ProductDTO productDTO : BenchmarkData.productDTOs(size, 1L)) {
+            productDTO.setId((long) productDTOs.size() + 1);
+            productDTOs.add(productDTO);
+        }
+        productSupplierDTO = new ProductSupplierDTO("Product 1", 10.0, 100.0, "Supplier 1", "908-897-0980", "supplier@email.com");
+    }
+
+    @Benchmark
+    public byte[] productList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(productDTOs);
+    }
+
+    @Benchmark
+    public byte[] productSupplier() throws JsonProcessingException {
+        return writer.writeValueAsBytes(productSupplierDTO);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.BatchItemResultDTO;
+import com.example.productorders.DTO.PageDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.ProductordersApplication;
+import com.example.productorders.service.ProductBatchService;
+import com.example.productorders.service.ProductService;
+import com.example.productorders.service.SupplierService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full service calls against an in-memory H2 database, so the repository queries, Hibernate and the mapping
+ * are measured together. Caching is switched off so every call reaches the database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"1000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long productId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductordersApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=none",
+                        "logging.level.root=WARN")
+                .run();
+
+        productService = context.getBean(ProductService.class);
+        SupplierDTO supplier = context.getBean(SupplierService.class)
+                .saveSupplier(new SupplierDTO("Benchmark Supplier", "908-897-0980", "supplier@email.com"));
+        List<BatchItemResultDTO> results = context.getBean(ProductBatchService.class)
+                .upsertProducts(BenchmarkData.productDTOs(products, supplier.getId()));
+        productId = results.get(results.size() / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductDTO getProductById() {
+        return productService.getProductById(productId);
+    }
+
+    @Benchmark
+    public ProductSupplierDTO getProductSupplier() {
+        return productService.getProductSupplier(productId);
+    }
+
+    @Benchmark
+    public List<ProductDTO> getProducts() {
+        return productService.getProducts();
+    }
+
+    @Benchmark
+    public PageDTO<ProductDTO> getProductPage() {
+        return productService.getProductPage(null, 100);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.productorders.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Benchmark-only endpoint that holds a connection for a fixed time, standing in for a slow Postgres query. */
+@RestController
+@RequestMapping("/benchmark")
+public class SlowQueryController {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SlowQueryController(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @GetMapping("/slow-query")
+    public Integer slowQuery(@RequestParam(defaultValue = "50") int millis) {
+        return jdbcTemplate.queryForObject("SELECT 1 FROM pg_sleep(?)", Integer.class, millis / 1000.0);
+    }
+}
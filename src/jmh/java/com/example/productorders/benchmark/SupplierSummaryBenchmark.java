@@ -0,0 +1,90 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.ProductordersApplication;
+import com.example.productorders.service.SupplierService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of computing supplier summaries against Postgres seeded with {@code rows} products over 1000 suppliers,
+ * with the summary cache on ({@code caffeine}) and off ({@code none}). Uncached numbers are what one refresh
+ * costs the database; cached numbers are what every other poll within the TTL costs.
+ * Runs in a throwaway {@code summary_benchmark} schema, created and dropped with the application context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupplierSummaryBenchmark {
+
+    private static final int SUPPLIERS = 1000;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"none", "caffeine"})
+    private String cache;
+
+    private ConfigurableApplicationContext context;
+    private SupplierService supplierService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductordersApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments rather than default properties, so they win over application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:postgresql://localhost:5432/product_info?currentSchema=summary_benchmark",
+                        "--spring.jpa.properties.hibernate.default_schema=summary_benchmark",
+                        "--spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.cache.type=" + cache,
+                        "--logging.level.root=WARN");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO supplier (id, name, phone_num, email) " +
+                "SELECT g, 'Supplier ' || g, '555-0100', 'supplier' || g || '@example.com' FROM generate_series(1, ?) g", SUPPLIERS);
+        jdbcTemplate.update("INSERT INTO product (id, name, price, stock, supplier_id) " +
+                "SELECT g, 'Product ' || g, round((random() * 1000)::numeric, 2), floor(random() * 100), 1 + g % ? " +
+                "FROM generate_series(1, ?) g", SUPPLIERS, rows);
+        jdbcTemplate.execute("ANALYZE product");
+
+        supplierService = context.getBean(SupplierService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SupplierSummaryDTO> allSuppliers() {
+        return supplierService.getSupplierSummaries();
+    }
+
+    @Benchmark
+    public SupplierSummaryDTO oneSupplier() {
+        return supplierService.getSupplierSummary(42L);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.productorders.benchmark;
+
+import com.example.productorders.ProductordersApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for the application to serve {@code requests} concurrent requests that each hold a Postgres connection for
+ * {@code queryMillis}, once with Tomcat's platform worker threads and once with virtual threads. Runs against the
+ * datasource configured in application.properties (the docker-compose Postgres) and needs Java 21.
+ *
+ * <p>With platform threads at most {@code server.tomcat.threads.max} requests are in progress and the rest wait in
+ * Tomcat's accept queue; with virtual threads every request is in progress and they wait for a pooled connection
+ * instead. Compare runs across {@code poolSize} to see which of the two is the limit.
+ *
+ * <p>The application runs in its own JVM, started from the benchmark's class path, so its sockets and the client's
+ * do not share one open-file limit and the client's threads do not compete with it for the same scheduler. That
+ * JVM traces pinned virtual threads to the benchmark's output, so a driver or library that blocks inside
+ * {@code synchronized} shows up there.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreadingBenchmark {
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threads;
+
+    @Param({"10000"})
+    private int requests;
+
+    @Param({"50"})
+    private int queryMillis;
+
+    @Param({"20", "90"})
+    private int poolSize;
+
+    private Process application;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        boolean virtual = "VIRTUAL".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+        }
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        application = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Djdk.tracePinnedThreads=short",
+                "-cp", System.getProperty("java.class.path"),
+                ProductordersApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.max-connections=" + (requests + 100),
+                "--server.tomcat.accept-count=" + requests,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--spring.datasource.hikari.connection-timeout=600000",
+                "--spring.cache.type=none",
+                "--logging.level.root=WARN")
+                .inheritIO()
+                .start();
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMinutes(1))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/benchmark/slow-query?millis=" + queryMillis))
+                .timeout(Duration.ofMinutes(10))
+                .build();
+        awaitStarted(port);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        application.destroy();
+        application.waitFor(1, TimeUnit.MINUTES);
+    }
+
+    private void awaitStarted(int port) throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/benchmark/slow-query?millis=0")).build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("Application exited with " + application.exitValue());
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(200);
+        }
+        throw new IllegalStateException("Application did not start on port " + port);
+    }
+
+    @Benchmark
+    public int slowQueries() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        int succeeded = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                succeeded++;
+            }
+        }
+        if (succeeded != requests) {
+            throw new IllegalStateException((requests - succeeded) + " of " + requests + " requests failed");
+        }
+        return succeeded;
+    }
+}
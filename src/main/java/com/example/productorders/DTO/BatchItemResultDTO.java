@@ -0,0 +1,23 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REJECTED,
+        FAILED
+    }
+
+    private int index;
+    private Long id;
+    private Status status;
+    private String message;
+}
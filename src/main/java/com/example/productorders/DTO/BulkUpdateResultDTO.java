@@ -0,0 +1,13 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResultDTO {
+    private Long supplierId;
+    private long updated;
+}
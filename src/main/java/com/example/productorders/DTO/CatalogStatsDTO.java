@@ -0,0 +1,25 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/** Totals over the products matching a filter. Minimums, maximums and the average are null when none match. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogStatsDTO {
+    private Long productCount;
+    private Long lowStockCount;
+    private Double totalStock;
+    private Double inventoryValue;
+    private Double averagePrice;
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minStock;
+    private Double maxStock;
+    /** When the snapshot these figures come from was taken; null before the first one. */
+    private Instant asOf;
+}
@@ -0,0 +1,14 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejectionDTO {
+    /** Line of the upload the row starts on, counting the CSV header. */
+    private long line;
+    private String message;
+}
@@ -0,0 +1,35 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportStatusDTO {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /** Chosen by the client through the Import-Id header, or assigned. */
+    private String id;
+    private String format;
+    private State state;
+    /** Rows parsed from the upload so far, including those still queued for the writer. */
+    private long rowsRead;
+    private long rowsWritten;
+    private long rowsRejected;
+    /** Rows written or rejected per second over the latest batch while running, over the whole import once finished. */
+    private double rowsPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String message;
+    private List<ImportRejectionDTO> rejections;
+}
@@ -0,0 +1,16 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Items found for a list of ids, in the order the ids were asked for, and the ids that matched nothing. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiGetDTO<T> {
+    private List<T> items;
+    private List<Long> missingIds;
+}
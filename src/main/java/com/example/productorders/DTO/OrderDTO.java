@@ -0,0 +1,21 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDTO {
+    private Long id;
+    private Instant createdAt;
+    private List<OrderLineDTO> lines;
+
+    public OrderDTO(List<OrderLineDTO> lines) {
+        this.lines = lines;
+    }
+}
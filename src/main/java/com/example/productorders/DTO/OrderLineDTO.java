@@ -0,0 +1,19 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineDTO {
+    private Long productId;
+    private Double quantity;
+    private Double unitPrice;
+
+    public OrderLineDTO(Long productId, Double quantity) {
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+}
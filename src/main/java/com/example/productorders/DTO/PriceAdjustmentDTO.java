@@ -0,0 +1,14 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Either a percentage to move every price by, such as 7 or -10, or a price to set; not both. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAdjustmentDTO {
+    private Double percent;
+    private Double price;
+}
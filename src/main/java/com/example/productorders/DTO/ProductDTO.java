@@ -1,5 +1,6 @@
 package com.example.productorders.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,6 +15,14 @@ public class ProductDTO {
     private Double stock;
     private Long supplierId;
 
+    /** Entity version, sent as the ETag rather than in the body; null on list projections. */
+    @JsonIgnore
+    private Long version;
+
+    public ProductDTO(Long id, String name, Double price, Double stock, Long supplierId) {
+        this(id, name, price, stock, supplierId, null);
+    }
+
     public ProductDTO(String name, Double price, Double stock, Long supplierId) {
         this.name = name;
         this.price = price;
@@ -0,0 +1,16 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** The numeric fields of a product, without its name. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFiguresDTO {
+    private Long id;
+    private Long supplierId;
+    private Double price;
+    private Double stock;
+}
@@ -0,0 +1,36 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters for the product list. Ranges are half-open: the minimum is inclusive and the maximum exclusive,
+ * so {@code maxStock=5} means stock below 5. Unset fields do not filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterDTO {
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minStock;
+    private Double maxStock;
+    private Long supplierId;
+
+    public boolean hasCriteria() {
+        return minPrice != null || maxPrice != null || minStock != null || maxStock != null || supplierId != null;
+    }
+
+    /** Rejects a range whose minimum exceeds its maximum. */
+    public void validate() {
+        validateRange(minPrice, maxPrice, "price");
+        validateRange(minStock, maxStock, "stock");
+    }
+
+    private static void validateRange(Double min, Double max, String field) {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException("Minimum " + field + " cannot exceed maximum " + field);
+        }
+    }
+}
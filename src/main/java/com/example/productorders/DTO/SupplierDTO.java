@@ -1,5 +1,6 @@
 package com.example.productorders.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,14 @@ public class SupplierDTO {
     private String phoneNum;
     private String email;
 
+    /** Entity version, sent as the ETag rather than in the body. */
+    @JsonIgnore
+    private Long version;
+
+    public SupplierDTO(Long id, String name, String phoneNum, String email) {
+        this(id, name, phoneNum, email, null);
+    }
+
     public SupplierDTO(String name, String phoneNum, String email) {
         this.name = name;
         this.phoneNum = phoneNum;
@@ -0,0 +1,19 @@
+package com.example.productorders.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierSummaryDTO {
+    private Long supplierId;
+    private Long productCount;
+    private Long lowStockCount;
+    private Double totalStock;
+    /** Sum of price times stock over the supplier's products. */
+    private Double inventoryValue;
+    /** Null when the supplier has no products. */
+    private Double averagePrice;
+}
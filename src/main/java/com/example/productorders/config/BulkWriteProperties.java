@@ -0,0 +1,16 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkWriteProperties {
+
+    /** Rows written per transaction; keep it a multiple of hibernate.jdbc.batch_size. */
+    private int chunkSize = 1000;
+
+    private int maxItems = 100_000;
+}
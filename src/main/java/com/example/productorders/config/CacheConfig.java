@@ -0,0 +1,41 @@
+package com.example.productorders.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches in front of the single-item lookups.
+ * Caches are Caffeine-backed and bounded by {@code spring.cache.caffeine.spec}; hit, miss and eviction
+ * counters are published by the actuator as {@code cache.gets} and {@code cache.evictions}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+
+    /** {@link com.example.productorders.DTO.ProductSupplierDTO} views, which embed supplier fields. */
+    public static final String PRODUCT_SUPPLIERS = "productSuppliers";
+
+    public static final String SUPPLIERS = "suppliers";
+
+    /**
+     * Supplier aggregates. Not evicted on writes, so it expires after {@link InventoryProperties#getSummaryTtl()}
+     * instead of the shared spec: readers see totals at most that old, and the aggregate query runs at most once
+     * per key per period however often the summaries are polled.
+     */
+    public static final String SUPPLIER_SUMMARIES = "supplierSummaries";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> supplierSummaryCacheCustomizer(InventoryProperties inventoryProperties) {
+        return cacheManager -> cacheManager.registerCustomCache(SUPPLIER_SUMMARIES, Caffeine.newBuilder()
+                .expireAfterWrite(inventoryProperties.getSummaryTtl())
+                .maximumSize(10_000)
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.analytics.snapshot")
+public class CatalogSnapshotProperties {
+
+    /** Keep a columnar copy of the catalog in memory and serve {@code /analytics/products} from it. */
+    private boolean enabled = false;
+
+    /** Time between the end of one rebuild and the start of the next. */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,25 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.orders.group-commit")
+public class GroupCommitProperties {
+
+    /** Most orders written in one transaction. */
+    private int maxBatch = 256;
+
+    /** How long the writer waits for more orders after the first one arrives; zero commits immediately. */
+    private Duration linger = Duration.ofMillis(1);
+
+    /** Pending orders beyond this are refused rather than queued. */
+    private int queueCapacity = 10_000;
+
+    /** How long a caller waits for its order to be committed. */
+    private Duration timeout = Duration.ofSeconds(10);
+}
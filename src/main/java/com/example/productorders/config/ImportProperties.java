@@ -0,0 +1,29 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+
+    /** Parsed rows handed to the writer at a time; each batch goes through the bulk upsert. */
+    private int batchSize = 1000;
+
+    /** Parsed batches allowed to wait for the writer before the parser stops reading the upload. */
+    private int queueCapacity = 4;
+
+    /** Characters one CSV record or NDJSON line may span; a longer one, such as an unterminated quote, fails the import. */
+    private int maxRecordLength = 65536;
+
+    /** Rejected rows listed individually in the status; the rest are only counted. */
+    private int maxRejectionsReported = 100;
+
+    /** Imports allowed to run at once; each holds a request thread and a writer thread until it ends. */
+    private int maxConcurrentImports = 4;
+
+    /** Finished imports whose status is kept for polling. */
+    private int retainedImports = 50;
+}
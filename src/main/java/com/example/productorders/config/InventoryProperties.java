@@ -0,0 +1,19 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.inventory")
+public class InventoryProperties {
+
+    /** Products with stock below this count as low on stock. */
+    private double lowStockThreshold = 10;
+
+    /** How long a computed supplier summary is served before it is recomputed. */
+    private Duration summaryTtl = Duration.ofSeconds(5);
+}
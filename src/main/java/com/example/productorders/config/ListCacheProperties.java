@@ -0,0 +1,29 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.list-cache")
+public class ListCacheProperties {
+
+    /**
+     * Serve {@code GET /products} and {@code GET /suppliers} from serialized pages kept in memory. Pages are
+     * rebuilt in the background after a write, so a read can return the previous page until the rebuild lands.
+     */
+    private boolean enabled = false;
+
+    /** Upper bound on the serialized bytes held per list, compressed copies included. */
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    /** Pages not read for this long are dropped instead of being rebuilt. */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /** Pages at least this large also keep a gzip copy for clients that accept it. */
+    private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+}
@@ -0,0 +1,46 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+
+    private int defaultSize = 100;
+
+    private int maxSize = 1000;
+
+    public int resolveSize(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    /** The distinct ids of a multi-get in request order; at most {@link #maxSize} of them, none negative. */
+    public Set<Long> resolveIds(List<Long> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Id list cannot be null");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > maxSize) {
+            throw new IllegalArgumentException("Cannot look up more than " + maxSize + " ids at once");
+        }
+        for (Long id : distinct) {
+            if (id == null || id < 0) {
+                throw new IllegalArgumentException("Ids must be present and not negative");
+            }
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.productorders.config;
+
+import com.example.productorders.service.PayloadFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR and Smile converters built from the application's JSON mapper, so binary bodies carry exactly the fields
+ * JSON does. They take the place of the default converters Spring MVC adds for these formats, which start from
+ * a plain mapper.
+ */
+@Configuration
+public class PayloadFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(PayloadFormat.CBOR.mapperFrom(objectMapper));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(PayloadFormat.SMILE.mapperFrom(objectMapper));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.productorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveDataProperties {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private int maxPoolSize = 20;
+
+    private int fetchSize = 500;
+}
@@ -0,0 +1,50 @@
+package com.example.productorders.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the {@code @Service} beans as {@code service.calls}, tagged with the service,
+ * the operation (method name), the outcome ({@code SUCCESS} or {@code ERROR}) and the exception's simple name.
+ * Calls a service makes to its own methods bypass the proxy and are part of the caller's time.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    private final Meter.MeterProvider<Timer> timers;
+
+    @Autowired
+    public ServiceTimingAspect(MeterRegistry meterRegistry) {
+        this.timers = Timer.builder("service.calls")
+                .description("Time spent in service methods")
+                .withRegistry(meterRegistry);
+    }
+
+    @Around("within(com.example.productorders.service..*) && @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timers.withTags(
+                    "service", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    "operation", joinPoint.getSignature().getName(),
+                    "outcome", "none".equals(exception) ? "SUCCESS" : "ERROR",
+                    "exception", exception
+            ).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.CatalogStatsDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.DTO.ProductFiguresDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.service.CatalogSnapshot;
+import com.example.productorders.service.CatalogSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Analytics over the in-memory catalog snapshot. Every endpoint takes the same filters as {@code GET /products}
+ * and answers from the last snapshot, without touching the database.
+ */
+@RestController
+@RequestMapping("/analytics/products")
+@CrossOrigin(origins = "*")
+@Slf4j
+@ConditionalOnProperty(prefix = "app.analytics.snapshot", name = "enabled", havingValue = "true")
+public class AnalyticsController {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    public AnalyticsController(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    @GetMapping("/stats")
+    public CatalogStatsDTO getStats(@ModelAttribute ProductFilterDTO filter) {
+        log.debug("getStats in AnalyticsController");
+        return catalogSnapshotService.getStats(filter);
+    }
+
+    @GetMapping("/suppliers")
+    public List<SupplierSummaryDTO> getSupplierBreakdown(@ModelAttribute ProductFilterDTO filter) {
+        log.debug("getSupplierBreakdown in AnalyticsController");
+        return catalogSnapshotService.getSupplierBreakdown(filter);
+    }
+
+    @GetMapping("/top")
+    public List<ProductFiguresDTO> getTop(@RequestParam(defaultValue = "value") String by,
+                                          @RequestParam(required = false) Integer limit,
+                                          @ModelAttribute ProductFilterDTO filter) {
+        log.debug("getTop in AnalyticsController");
+        return catalogSnapshotService.getTop(filter, CatalogSnapshot.Metric.fromParameter(by), limit);
+    }
+}
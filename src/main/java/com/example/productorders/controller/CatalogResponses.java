@@ -0,0 +1,96 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.logging.RequestSummaryFilter;
+import com.example.productorders.service.ListResponseCache;
+import com.example.productorders.service.PayloadFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Format negotiation for the catalog endpoints, and writing of {@link ListResponseCache.Page}s as they are. */
+final class CatalogResponses {
+
+    private static final List<MediaType> FORMAT_TYPES = Arrays.stream(PayloadFormat.values())
+            .map(PayloadFormat::getMediaType)
+            .toList();
+
+    private CatalogResponses() {
+    }
+
+    static PayloadFormat format(WebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        PayloadFormat format = PayloadFormat.negotiate(accept == null ? List.of() : MediaType.parseMediaTypes(accept));
+        if (format == null) {
+            throw new HttpMediaTypeNotAcceptableException(FORMAT_TYPES);
+        }
+        return format;
+    }
+
+    /** A 200 carrying {@code body} in {@code format}, tagged with the format's variant of {@code version}. */
+    static <T> ResponseEntity<T> ok(T body, String version, PayloadFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(format.etag(version))
+                .body(body);
+    }
+
+    /**
+     * Serves the cached page for {@code key}, picking its gzip copy when the client accepts it, or returns null
+     * once a 304 has been prepared. The gzip copy is a different representation and carries its own entity tag.
+     * For a client that cannot take gzip the tag is known without touching the database, so a match answers 304
+     * straight away; otherwise the page is fetched first, since only its size tells whether it has a gzip copy.
+     */
+    static <K> ResponseEntity<byte[]> page(ListResponseCache<K> cache, K key, PayloadFormat format, WebRequest webRequest) {
+        boolean acceptsGzip = acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ListResponseCache.Page page = null;
+        String etag;
+        if (acceptsGzip) {
+            page = cache.get(key, format);
+            etag = etag(page.tag(), format, page.gzip() != null);
+        } else {
+            etag = etag(cache.tag(key, format), format, false);
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (page == null) {
+            page = cache.get(key, format);
+        }
+        webRequest.setAttribute(RequestSummaryFilter.ROWS_ATTRIBUTE, page.rows(), RequestAttributes.SCOPE_REQUEST);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (page.nextCursor() != null) {
+            response.header(ProductController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        if (acceptsGzip && page.gzip() != null) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.body());
+    }
+
+    private static String etag(String tag, PayloadFormat format, boolean gzip) {
+        return gzip ? format.etag(tag) + "-gzip" : format.etag(tag);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.OrderDTO;
+import com.example.productorders.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/orders")
+@CrossOrigin(origins = "*")
+@Slf4j
+public class OrderController {
+
+    private final OrderService orderService;
+
+    @Autowired
+    public OrderController(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostMapping
+    public OrderDTO placeOrder(@RequestBody OrderDTO orderDTO) {
+        log.debug("placeOrder in OrderController");
+        return orderService.placeOrder(orderDTO);
+    }
+
+    @GetMapping("/{id}")
+    public OrderDTO getOrderById(@PathVariable Long id) {
+        log.debug("getOrderById in OrderController");
+        return orderService.getOrderById(id);
+    }
+}
@@ -1,12 +1,34 @@
 package com.example.productorders.controller;
 
+import com.example.productorders.DTO.BatchItemResultDTO;
+import com.example.productorders.DTO.ImportStatusDTO;
+import com.example.productorders.DTO.MultiGetDTO;
 import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.DTO.ProductSearchHitDTO;
+import com.example.productorders.DTO.ProductStockDTO;
 import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.DTO.StockQuantityDTO;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.repository.ProductSort;
+import com.example.productorders.service.CatalogListCache;
+import com.example.productorders.service.ExportFormat;
+import com.example.productorders.service.ProductBatchService;
+import com.example.productorders.service.ProductExportService;
+import com.example.productorders.service.ProductImportService;
+import com.example.productorders.service.ProductSearchService;
+import com.example.productorders.service.PayloadFormat;
 import com.example.productorders.service.ProductService;
+import com.example.productorders.service.SearchMode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,48 +37,150 @@ import java.util.List;
 @Slf4j
 public class ProductController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String IMPORT_ID_HEADER = "Import-Id";
+
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductBatchService productBatchService;
+    private final ProductSearchService productSearchService;
+    private final ProductImportService productImportService;
+    private final CatalogListCache catalogListCache;
+    private final PaginationProperties paginationProperties;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             ProductBatchService productBatchService, ProductSearchService productSearchService,
+                             ProductImportService productImportService, CatalogListCache catalogListCache,
+                             PaginationProperties paginationProperties) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productBatchService = productBatchService;
+        this.productSearchService = productSearchService;
+        this.productImportService = productImportService;
+        this.catalogListCache = catalogListCache;
+        this.paginationProperties = paginationProperties;
     }
 
     @GetMapping
-    public List<ProductDTO> getProducts() {
-        log.info("getProducts in ProductController");
-        return productService.getProducts();
+    public ResponseEntity<byte[]> getProducts(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestParam(defaultValue = "id") String sort,
+                                              @ModelAttribute ProductFilterDTO filter,
+                                              WebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        log.debug("getProducts in ProductController");
+        PayloadFormat format = CatalogResponses.format(webRequest);
+        CatalogListCache.ProductListKey key = new CatalogListCache.ProductListKey(
+                cursor, paginationProperties.resolveSize(size), ProductSort.fromParameter(sort), filter);
+
+        return CatalogResponses.page(catalogListCache.products(), key, format, webRequest);
+    }
+
+    // Many products by id in one round trip; the POST form takes the ids as a JSON array for lists too long for a URL
+    @GetMapping(params = "ids")
+    public MultiGetDTO<ProductDTO> getProductsByIds(@RequestParam List<Long> ids) {
+        log.debug("getProductsByIds in ProductController");
+        return productService.getProductsByIds(ids);
+    }
+
+    @PostMapping("/lookup")
+    public MultiGetDTO<ProductDTO> lookupProducts(@RequestBody List<Long> ids) {
+        log.debug("lookupProducts in ProductController");
+        return productService.getProductsByIds(ids);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        log.debug("exportProducts in ProductController");
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+
+        StreamingResponseBody body = outputStream -> productExportService.exportProducts(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public List<ProductSearchHitDTO> searchProducts(@RequestParam String q,
+                                                    @RequestParam(defaultValue = "full") String mode,
+                                                    @RequestParam(required = false) Integer limit) {
+        log.debug("searchProducts in ProductController");
+        return productSearchService.search(q, SearchMode.fromParameter(mode), limit);
+    }
+
+    // Served from the products cache when warm; Spring answers a matching If-None-Match with 304 and skips the body
     @GetMapping("/{id}")
-    public ProductDTO getProductById(@PathVariable Long id) {
-        log.info("getProductById in ProductController");
-        return productService.getProductById(id);
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id, WebRequest webRequest)
+            throws HttpMediaTypeNotAcceptableException {
+        log.debug("getProductById in ProductController");
+        PayloadFormat format = CatalogResponses.format(webRequest);
+        ProductDTO product = productService.getProductById(id);
+        return CatalogResponses.ok(product, String.valueOf(product.getVersion()), format);
     }
 
     @GetMapping("/suppliers/{id}")
     public ProductSupplierDTO getProductSupplier(@PathVariable Long id) {
-        log.info("getProductSupplier in ProductController");
+        log.debug("getProductSupplier in ProductController");
         return productService.getProductSupplier(id);
     }
 
     @PostMapping
     public ProductDTO saveProduct(@RequestBody ProductDTO productDTO) {
-        log.info("saveProduct in ProductController");
+        log.debug("saveProduct in ProductController");
         return productService.saveProduct(productDTO);
     }
 
+    @PostMapping("/batch")
+    public List<BatchItemResultDTO> saveProducts(@RequestBody List<ProductDTO> productDTOs) {
+        log.debug("saveProducts in ProductController");
+        return productBatchService.upsertProducts(productDTOs);
+    }
+
+    // The body is parsed as it streams in; the response is sent once the whole upload has been written, so a client
+    // that wants to poll the progress meanwhile names the import itself in the Import-Id header
+    @PostMapping("/imports")
+    public ImportStatusDTO importProducts(@RequestParam(defaultValue = "ndjson") String format,
+                                          @RequestHeader(value = IMPORT_ID_HEADER, required = false) String importId,
+                                          InputStream body) {
+        log.debug("importProducts in ProductController");
+        return productImportService.importProducts(ExportFormat.fromParameter(format), importId, body);
+    }
+
+    @GetMapping("/imports")
+    public List<ImportStatusDTO> getImports() {
+        log.debug("getImports in ProductController");
+        return productImportService.getImports();
+    }
+
+    @GetMapping("/imports/{id}")
+    public ImportStatusDTO getImport(@PathVariable String id) {
+        log.debug("getImport in ProductController");
+        return productImportService.getImport(id);
+    }
+
+    @PostMapping("/{id}/reserve")
+    public ProductStockDTO reserveStock(@PathVariable Long id, @RequestBody StockQuantityDTO stockQuantityDTO) {
+        log.debug("reserveStock in ProductController");
+        return productService.reserveStock(id, stockQuantityDTO.getQuantity());
+    }
+
+    @PostMapping("/{id}/release")
+    public ProductStockDTO releaseStock(@PathVariable Long id, @RequestBody StockQuantityDTO stockQuantityDTO) {
+        log.debug("releaseStock in ProductController");
+        return productService.releaseStock(id, stockQuantityDTO.getQuantity());
+    }
+
     @PutMapping("/{id}")
     public ProductDTO editProduct(@RequestBody ProductDTO productDTO, @PathVariable Long id)
     {
-        log.info("editProduct in ProductController");
+        log.debug("editProduct in ProductController");
         return productService.updateProduct(productDTO, id);
     }
 
     @DeleteMapping("/{id}")
     public void deleteProduct(@PathVariable Long id)
     {
-        log.info("deleteProduct in ProductController");
+        log.debug("deleteProduct in ProductController");
         productService.deleteProduct(id);
     }
 }
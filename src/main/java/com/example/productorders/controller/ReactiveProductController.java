@@ -0,0 +1,47 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.service.ReactiveProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive read endpoints over R2DBC. The product list is streamed as NDJSON, one product per line, and only
+ * requests the next row once the previous one is written; {@code Accept: application/json} returns a plain array.
+ */
+@RestController
+@RequestMapping("/reactive/products")
+@CrossOrigin(origins = "*")
+@Slf4j
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+
+    @Autowired
+    public ReactiveProductController(ReactiveProductService reactiveProductService) {
+        this.reactiveProductService = reactiveProductService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ProductDTO> getProducts() {
+        log.debug("getProducts in ReactiveProductController");
+        return reactiveProductService.getProducts();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ProductDTO> getProductById(@PathVariable Long id) {
+        log.debug("getProductById in ReactiveProductController");
+        return reactiveProductService.getProductById(id);
+    }
+
+    @GetMapping("/suppliers/{id}")
+    public Mono<ProductSupplierDTO> getProductSupplier(@PathVariable Long id) {
+        log.debug("getProductSupplier in ReactiveProductController");
+        return reactiveProductService.getProductSupplier(id);
+    }
+}
@@ -1,10 +1,23 @@
 package com.example.productorders.controller;
 
+import com.example.productorders.DTO.BulkUpdateResultDTO;
+import com.example.productorders.DTO.MultiGetDTO;
+import com.example.productorders.DTO.PriceAdjustmentDTO;
+import com.example.productorders.DTO.StockLevelDTO;
 import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.service.CatalogListCache;
+import com.example.productorders.service.PayloadFormat;
+import com.example.productorders.service.SupplierDeletion;
+import com.example.productorders.service.SupplierProductsService;
 import com.example.productorders.service.SupplierService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,39 +28,92 @@ import java.util.List;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final SupplierProductsService supplierProductsService;
+    private final CatalogListCache catalogListCache;
+    private final PaginationProperties paginationProperties;
 
     @Autowired
-    public SupplierController(SupplierService supplierService) {
+    public SupplierController(SupplierService supplierService, SupplierProductsService supplierProductsService,
+                              CatalogListCache catalogListCache, PaginationProperties paginationProperties) {
         this.supplierService = supplierService;
+        this.supplierProductsService = supplierProductsService;
+        this.catalogListCache = catalogListCache;
+        this.paginationProperties = paginationProperties;
     }
 
     @GetMapping
-    public List<SupplierDTO> getSuppliers() {
-        log.info("getSuppliers in SupplierController");
-        return supplierService.getSuppliers();
+    public ResponseEntity<byte[]> getSuppliers(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size,
+                                               WebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        log.debug("getSuppliers in SupplierController");
+        PayloadFormat format = CatalogResponses.format(webRequest);
+        CatalogListCache.SupplierListKey key = new CatalogListCache.SupplierListKey(cursor, paginationProperties.resolveSize(size));
+
+        return CatalogResponses.page(catalogListCache.suppliers(), key, format, webRequest);
+    }
+
+    @GetMapping(params = "ids")
+    public MultiGetDTO<SupplierDTO> getSuppliersByIds(@RequestParam List<Long> ids) {
+        log.debug("getSuppliersByIds in SupplierController");
+        return supplierService.getSuppliersByIds(ids);
+    }
+
+    @PostMapping("/lookup")
+    public MultiGetDTO<SupplierDTO> lookupSuppliers(@RequestBody List<Long> ids) {
+        log.debug("lookupSuppliers in SupplierController");
+        return supplierService.getSuppliersByIds(ids);
+    }
+
+    @GetMapping("/summary")
+    public List<SupplierSummaryDTO> getSupplierSummaries() {
+        log.debug("getSupplierSummaries in SupplierController");
+        return supplierService.getSupplierSummaries();
+    }
+
+    @GetMapping("/{id}/summary")
+    public SupplierSummaryDTO getSupplierSummary(@PathVariable Long id) {
+        log.debug("getSupplierSummary in SupplierController");
+        return supplierService.getSupplierSummary(id);
     }
 
     @GetMapping("/{id}")
-    public SupplierDTO getSupplierById(@PathVariable Long id) {
-        log.info("getSupplierbyId in SupplierController");
-        return supplierService.getSupplierById(id);
+    public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id, WebRequest webRequest)
+            throws HttpMediaTypeNotAcceptableException {
+        log.debug("getSupplierbyId in SupplierController");
+        PayloadFormat format = CatalogResponses.format(webRequest);
+        SupplierDTO supplier = supplierService.getSupplierById(id);
+        return CatalogResponses.ok(supplier, String.valueOf(supplier.getVersion()), format);
     }
 
     @PostMapping
     public SupplierDTO saveSupplier(@RequestBody SupplierDTO supplierDTO) {
-        log.info("saveSupplier in SupplierController");
+        log.debug("saveSupplier in SupplierController");
         return supplierService.saveSupplier(supplierDTO);
     }
 
     @PutMapping("/{id}")
     public SupplierDTO updateSupplier(@RequestBody SupplierDTO supplierDTO, @PathVariable Long id) {
-        log.info("updateSupplier in SupplierController");
+        log.debug("updateSupplier in SupplierController");
         return supplierService.updateSupplier(supplierDTO, id);
     }
 
+    @PatchMapping("/{id}/products/price")
+    public BulkUpdateResultDTO adjustProductPrices(@PathVariable Long id, @RequestBody PriceAdjustmentDTO priceAdjustmentDTO) {
+        log.debug("adjustProductPrices in SupplierController");
+        return supplierProductsService.adjustPrices(id, priceAdjustmentDTO);
+    }
+
+    @PatchMapping("/{id}/products/stock")
+    public BulkUpdateResultDTO setProductStock(@PathVariable Long id, @RequestBody StockLevelDTO stockLevelDTO) {
+        log.debug("setProductStock in SupplierController");
+        return supplierProductsService.setStock(id, stockLevelDTO);
+    }
+
     @DeleteMapping("/{id}")
-    public void deleteSupplier(@PathVariable Long id) {
-        log.info("deleteSupplier in SupplierController");
-        supplierService.deleteSupplier(id);
+    public void deleteSupplier(@PathVariable Long id,
+                               @RequestParam(defaultValue = "reject") String strategy,
+                               @RequestParam(required = false) Long reassignTo) {
+        log.debug("deleteSupplier in SupplierController");
+        supplierService.deleteSupplier(id, SupplierDeletion.fromParameter(strategy), reassignTo);
     }
 }
@@ -0,0 +1,9 @@
+package com.example.productorders.exception;
+
+/** As many imports as allowed are already running; the upload was refused before its body was read. */
+public class ImportCapacityException extends RuntimeException {
+
+    public ImportCapacityException(int maxConcurrentImports) {
+        super("Already running " + maxConcurrentImports + " imports, retry later");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.productorders.exception;
+
+public class ImportConflictException extends RuntimeException {
+
+    public ImportConflictException(String importId) {
+        super("An import with id " + importId + " already exists");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.productorders.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(Long productId, Double quantity) {
+        super("Cannot reserve " + quantity + " units of product with id " + productId);
+    }
+}
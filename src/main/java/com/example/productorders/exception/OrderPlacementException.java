@@ -0,0 +1,16 @@
+package com.example.productorders.exception;
+
+/**
+ * The order could not be handed to, or confirmed by, the group-commit writer in time.
+ * When raised after a timeout the outcome is unknown: the order may still commit.
+ */
+public class OrderPlacementException extends RuntimeException {
+
+    public OrderPlacementException(String message) {
+        super(message);
+    }
+
+    public OrderPlacementException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
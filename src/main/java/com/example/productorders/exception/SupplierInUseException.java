@@ -0,0 +1,8 @@
+package com.example.productorders.exception;
+
+public class SupplierInUseException extends RuntimeException {
+
+    public SupplierInUseException(Long supplierId, String reason) {
+        super("Cannot delete supplier with id " + supplierId + ": " + reason);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.productorders.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Marker for per-element log lines inside loops. Events carrying it are thinned out by
+ * {@link SamplingTurboFilter}, so enabling debug logging on a mapper does not write a line per row.
+ */
+public final class LogSampling {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogSampling() {
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.productorders.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Writes one summary line per request in key=value form: method, route, status, duration, the number of SQL
+ * statements Hibernate prepared on the request thread and the number of rows in the response body.
+ * Requests that go asynchronous (streamed exports) are summarized when they complete.
+ *
+ * <p>This is the only INFO event per request; the per-method trace lines in controllers and services are DEBUG.
+ * {@code sqlStatements} misses work done off the request thread: {@code POST /orders} reports 0 because its
+ * reads and inserts run on the group-commit writer, shared by every order in its batch; the batches show in the
+ * {@code orders.group_commit.*} meters instead.
+ */
+@Component
+@Slf4j
+public class RequestSummaryFilter extends OncePerRequestFilter {
+
+    public static final String ROWS_ATTRIBUTE = RequestSummaryFilter.class.getName() + ".rows";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!log.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.count();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        summarize(request, response, start, statements);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                summarize(request, response, start, statements);
+            }
+        }
+    }
+
+    private void summarize(HttpServletRequest request, HttpServletResponse response, long start, int statements) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object rows = request.getAttribute(ROWS_ATTRIBUTE);
+        log.info("request method={} route={} status={} durationMs={} sqlStatements={} rows={}",
+                request.getMethod(),
+                route != null ? route : request.getRequestURI(),
+                response.getStatus(),
+                (System.nanoTime() - start) / 1_000_000,
+                statements,
+                rows != null ? rows : 0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.productorders.logging;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Collection;
+
+/**
+ * Records how many rows a response body carries, for the per-request summary.
+ * Pre-serialized bodies are left alone; the controller that wrote them records their rows itself.
+ */
+@ControllerAdvice
+public class ResponseRowCountAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest && body != null
+                && !(body instanceof ProblemDetail) && !(body instanceof byte[])) {
+            int rows = body instanceof Collection<?> collection ? collection.size() : 1;
+            servletRequest.getServletRequest().setAttribute(RequestSummaryFilter.ROWS_ATTRIBUTE, rows);
+        }
+        return body;
+    }
+}
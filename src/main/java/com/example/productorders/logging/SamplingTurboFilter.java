@@ -0,0 +1,33 @@
+package com.example.productorders.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets through one in {@code oneIn} events marked {@link LogSampling#SAMPLED} and denies the rest before
+ * they are formatted or queued. Unmarked events and level checks without a message are left alone.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private int oneIn = 1000;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || format == null || !marker.contains(LogSampling.SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(oneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setOneIn(int oneIn) {
+        if (oneIn < 1) {
+            throw new IllegalArgumentException("oneIn must be positive");
+        }
+        this.oneIn = oneIn;
+    }
+}
@@ -3,16 +3,30 @@ package com.example.productorders.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
+// Each list filter pairs with each sort: (price, id) and (stock, id) serve range filters and keyset paging on
+// their column, (supplier_id, price, id) and (supplier_id, stock, id) serve per-supplier lists in either order
+// and the supplier foreign key
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_product_price_id", columnList = "price, id"),
+        @Index(name = "idx_product_stock_id", columnList = "stock, id"),
+        @Index(name = "idx_product_supplier_price_id", columnList = "supplier_id, price, id"),
+        @Index(name = "idx_product_supplier_stock_id", columnList = "supplier_id, stock, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
+    // Pooled optimizer: one nextval per 50 ids, matching the increment of the existing product_seq
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -24,8 +38,20 @@ public class Product {
     @Column(nullable = false)
     private Double stock;
 
-    @ManyToOne
+    // Lazy so list reads never hydrate suppliers; getSupplier().getId() is served by the proxy
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Supplier supplier;
 
+    // Bumped by Hibernate on every entity update and by the native stock updates; drives the product ETag
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    public Product(Long id, String name, Double price, Double stock, Supplier supplier) {
+        this(id, name, price, stock, supplier, null);
+    }
 }
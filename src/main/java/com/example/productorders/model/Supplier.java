@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
@@ -20,4 +21,12 @@ public class Supplier {
     private String phoneNum;
     private String email;
 
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    public Supplier(Long id, String name, String phoneNum, String email) {
+        this(id, name, phoneNum, email, null);
+    }
 }
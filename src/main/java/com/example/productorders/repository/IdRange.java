@@ -0,0 +1,9 @@
+package com.example.productorders.repository;
+
+/** How many rows a selection holds and the lowest and highest of their ids, which are null when it is empty. */
+public record IdRange(Long count, Long minId, Long maxId) {
+
+    public boolean isEmpty() {
+        return count == null || count == 0;
+    }
+}
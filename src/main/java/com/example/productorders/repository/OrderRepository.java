@@ -0,0 +1,20 @@
+package com.example.productorders.repository;
+
+import com.example.productorders.model.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.lines WHERE o.id = :orderId")
+    Optional<Order> findOrderWithLines(@Param("orderId") Long orderId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM order_line l JOIN product p ON p.id = l.product_id WHERE p.supplier_id = :supplierId)",
+            nativeQuery = true)
+    boolean existsLineForSupplier(@Param("supplierId") Long supplierId);
+}
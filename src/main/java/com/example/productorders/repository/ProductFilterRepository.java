@@ -0,0 +1,16 @@
+package com.example.productorders.repository;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.util.KeysetCursor;
+
+import java.util.List;
+
+public interface ProductFilterRepository {
+
+    /**
+     * Products matching {@code filter} in {@code sort} order, starting after {@code after} (null for the first page).
+     * Issued as a single query; the product indexes cover each filter combined with each sort.
+     */
+    List<ProductDTO> findProductDTOs(ProductFilterDTO filter, ProductSort sort, KeysetCursor.Position after, int limit);
+}
@@ -0,0 +1,71 @@
+package com.example.productorders.repository;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the filtered product query from the criteria that are set. Paging continues from the last row with a
+ * row-value comparison such as {@code (p.price, p.id) > (:afterValue, :afterId)}, which Postgres answers from
+ * the matching {@code (price, id)} index instead of skipping rows.
+ */
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductDTO> findProductDTOs(ProductFilterDTO filter, ProductSort sort, KeysetCursor.Position after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        addCondition(conditions, parameters, "p.price >= :minPrice", "minPrice", filter.getMinPrice());
+        addCondition(conditions, parameters, "p.price < :maxPrice", "maxPrice", filter.getMaxPrice());
+        addCondition(conditions, parameters, "p.stock >= :minStock", "minStock", filter.getMinStock());
+        addCondition(conditions, parameters, "p.stock < :maxStock", "maxStock", filter.getMaxStock());
+        addCondition(conditions, parameters, "p.supplier.id = :supplierId", "supplierId", filter.getSupplierId());
+
+        String comparison = sort.isDescending() ? " < " : " > ";
+        if (after != null) {
+            parameters.put("afterId", after.id());
+            if (sort.getAttribute() == null) {
+                conditions.add("p.id" + comparison + ":afterId");
+            } else {
+                conditions.add("(p." + sort.getAttribute() + ", p.id)" + comparison + "(:afterValue, :afterId)");
+                parameters.put("afterValue", after.value());
+            }
+        }
+
+        StringBuilder query = new StringBuilder(
+                "SELECT new com.example.productorders.DTO.ProductDTO(p.id, p.name, p.price, p.stock, p.supplier.id) FROM Product p");
+        if (!conditions.isEmpty()) {
+            query.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        String direction = sort.isDescending() ? " DESC" : " ASC";
+        query.append(" ORDER BY ");
+        if (sort.getAttribute() != null) {
+            query.append("p.").append(sort.getAttribute()).append(direction).append(", ");
+        }
+        query.append("p.id").append(direction);
+
+        TypedQuery<ProductDTO> typedQuery = entityManager.createQuery(query.toString(), ProductDTO.class);
+        parameters.forEach(typedQuery::setParameter);
+        return typedQuery.setMaxResults(limit).getResultList();
+    }
+
+    private static void addCondition(List<String> conditions, Map<String, Object> parameters, String condition,
+                                     String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+    }
+}
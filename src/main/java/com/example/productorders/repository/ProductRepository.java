@@ -1,14 +1,134 @@
 package com.example.productorders.repository;
 
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductFiguresDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
 import com.example.productorders.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFilterRepository {
+
+    int EXPORT_FETCH_SIZE = 1000;
 
     @Query("SELECT p FROM Product p JOIN FETCH p.supplier WHERE p.id = :productId")
     Product findProductWithSupplier(@Param("productId") Long productId);
+
+    @Query("SELECT new com.example.productorders.DTO.ProductSupplierDTO(p.name, p.price, p.stock, s.name, s.phoneNum, s.email) " +
+            "FROM Product p JOIN p.supplier s WHERE p.id = :productId")
+    Optional<ProductSupplierDTO> findProductSupplierDTO(@Param("productId") Long productId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id = :productId")
+    int deleteProductById(@Param("productId") Long productId);
+
+    /**
+     * Takes {@code quantity} units off the stock in a single conditional update and returns the new level.
+     * Empty when the product is missing or holds less than {@code quantity}; the row lock lasts only as
+     * long as this statement, so concurrent reservations never read-modify-write.
+     */
+    @Transactional
+    @Query(value = "UPDATE product SET stock = stock - :quantity, version = version + 1 WHERE id = :productId AND stock >= :quantity RETURNING stock",
+            nativeQuery = true)
+    Optional<Double> reserveStock(@Param("productId") Long productId, @Param("quantity") Double quantity);
+
+    @Transactional
+    @Query(value = "UPDATE product SET stock = stock + :quantity, version = version + 1 WHERE id = :productId RETURNING stock",
+            nativeQuery = true)
+    Optional<Double> releaseStock(@Param("productId") Long productId, @Param("quantity") Double quantity);
+
+    boolean existsBySupplierId(Long supplierId);
+
+    /** Read from the supplier_id indexes alone. */
+    @Query("SELECT new com.example.productorders.repository.IdRange(count(p), min(p.id), max(p.id)) " +
+            "FROM Product p WHERE p.supplier.id = :supplierId")
+    IdRange findIdRangeBySupplierId(@Param("supplierId") Long supplierId);
+
+    /*
+     * Set-based writes to a supplier's products whose ids lie between fromId and toId, so a large supplier can be
+     * changed in short transactions. Each returns the ids it touched; the updates bump the version like the stock
+     * updates above and leave rows that already hold the new value alone.
+     */
+
+    @Transactional
+    @Query(value = "UPDATE product SET price = ROUND(CAST(price * :factor AS numeric), 2), version = version + 1 " +
+            "WHERE supplier_id = :supplierId AND id BETWEEN :fromId AND :toId " +
+            "AND ROUND(CAST(price * :factor AS numeric), 2) <> price RETURNING id",
+            nativeQuery = true)
+    List<Long> scaleSupplierPrices(@Param("supplierId") Long supplierId, @Param("factor") double factor,
+                                   @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Transactional
+    @Query(value = "UPDATE product SET price = :price, version = version + 1 " +
+            "WHERE supplier_id = :supplierId AND id BETWEEN :fromId AND :toId AND price <> :price RETURNING id",
+            nativeQuery = true)
+    List<Long> setSupplierPrices(@Param("supplierId") Long supplierId, @Param("price") double price,
+                                 @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Transactional
+    @Query(value = "UPDATE product SET stock = :stock, version = version + 1 " +
+            "WHERE supplier_id = :supplierId AND id BETWEEN :fromId AND :toId AND stock <> :stock RETURNING id",
+            nativeQuery = true)
+    List<Long> setSupplierStock(@Param("supplierId") Long supplierId, @Param("stock") double stock,
+                                @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Transactional
+    @Query(value = "UPDATE product SET supplier_id = :targetId, version = version + 1 " +
+            "WHERE supplier_id = :supplierId AND id BETWEEN :fromId AND :toId RETURNING id",
+            nativeQuery = true)
+    List<Long> reassignSupplierProducts(@Param("supplierId") Long supplierId, @Param("targetId") Long targetId,
+                                        @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Transactional
+    @Query(value = "DELETE FROM product WHERE supplier_id = :supplierId AND id BETWEEN :fromId AND :toId RETURNING id",
+            nativeQuery = true)
+    List<Long> deleteSupplierProducts(@Param("supplierId") Long supplierId,
+                                      @Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT new com.example.productorders.DTO.ProductDTO(p.id, p.name, p.price, p.stock, p.supplier.id) " +
+            "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDTO> findProductDTOsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT new com.example.productorders.DTO.ProductDTO(p.id, p.name, p.price, p.stock, p.supplier.id) " +
+            "FROM Product p ORDER BY p.id")
+    List<ProductDTO> findAllProductDTOs();
+
+    /** Unordered; carries the version so the results can go into the products cache. */
+    @Query("SELECT new com.example.productorders.DTO.ProductDTO(p.id, p.name, p.price, p.stock, p.supplier.id, p.version) " +
+            "FROM Product p WHERE p.id IN :ids")
+    List<ProductDTO> findProductDTOsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.price FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findPricesByIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.productorders.DTO.ProductDTO(p.id, p.name, p.price, p.stock, p.supplier.id) " +
+            "FROM Product p ORDER BY p.id")
+    Stream<ProductDTO> streamAllProductDTOs();
+
+    /** Unordered, and without names, for loading the catalog snapshot. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.productorders.DTO.ProductFiguresDTO(p.id, p.supplier.id, p.price, p.stock) FROM Product p")
+    Stream<ProductFiguresDTO> streamAllProductFigures();
 }
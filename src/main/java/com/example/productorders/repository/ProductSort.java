@@ -0,0 +1,43 @@
+package com.example.productorders.repository;
+
+/** Orders accepted by the product list; ties are broken by id in the same direction. */
+public enum ProductSort {
+
+    ID("id", null, false),
+    PRICE("price", "price", false),
+    PRICE_DESC("-price", "price", true),
+    STOCK("stock", "stock", false),
+    STOCK_DESC("-stock", "stock", true);
+
+    private final String parameter;
+    private final String attribute;
+    private final boolean descending;
+
+    ProductSort(String parameter, String attribute, boolean descending) {
+        this.parameter = parameter;
+        this.attribute = attribute;
+        this.descending = descending;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /** The Product attribute sorted on before id, or null when sorting by id alone. */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public static ProductSort fromParameter(String sort) {
+        for (ProductSort value : values()) {
+            if (value.parameter.equalsIgnoreCase(sort)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort " + sort);
+    }
+}
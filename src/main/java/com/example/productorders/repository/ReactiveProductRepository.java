@@ -0,0 +1,68 @@
+package com.example.productorders.repository;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.config.ReactiveDataProperties;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of the tables mapped by {@code Product} and {@code Supplier}, for the reactive endpoints.
+ * Writes stay on the JPA repositories; this class only reads.
+ */
+@Repository
+public class ReactiveProductRepository {
+
+    private static final String SELECT_PRODUCT = "SELECT id, name, price, stock, supplier_id FROM product";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    @Autowired
+    public ReactiveProductRepository(DatabaseClient databaseClient, ReactiveDataProperties properties) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = properties.getFetchSize();
+    }
+
+    /** Rows are fetched from a cursor {@code fetchSize} at a time as the subscriber requests them. */
+    public Flux<ProductDTO> findAll() {
+        return databaseClient.sql(SELECT_PRODUCT + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveProductRepository::toProductDTO)
+                .all();
+    }
+
+    public Mono<ProductDTO> findById(Long id) {
+        return databaseClient.sql(SELECT_PRODUCT + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProductDTO)
+                .one();
+    }
+
+    public Mono<ProductSupplierDTO> findProductSupplier(Long id) {
+        return databaseClient.sql("SELECT p.name, p.price, p.stock, s.name AS supplier_name, s.phone_num, s.email " +
+                        "FROM product p JOIN supplier s ON s.id = p.supplier_id WHERE p.id = :id")
+                .bind("id", id)
+                .map(row -> new ProductSupplierDTO(
+                        row.get("name", String.class),
+                        row.get("price", Double.class),
+                        row.get("stock", Double.class),
+                        row.get("supplier_name", String.class),
+                        row.get("phone_num", String.class),
+                        row.get("email", String.class)))
+                .one();
+    }
+
+    private static ProductDTO toProductDTO(Readable row) {
+        return new ProductDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("price", Double.class),
+                row.get("stock", Double.class),
+                row.get("supplier_id", Long.class));
+    }
+}
@@ -1,9 +1,56 @@
 package com.example.productorders.repository;
 
+import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
 import com.example.productorders.model.Supplier;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+
+    List<Supplier> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /** Unordered; carries the version so the results can go into the suppliers cache. */
+    @Query("SELECT new com.example.productorders.DTO.SupplierDTO(s.id, s.name, s.phoneNum, s.email, s.version) " +
+            "FROM Supplier s WHERE s.id IN :ids")
+    List<SupplierDTO> findSupplierDTOsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id FROM Supplier s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Supplier s WHERE s.id = :supplierId")
+    int deleteSupplierById(@Param("supplierId") Long supplierId);
+
+    /**
+     * One grouped pass over the products, joined to the suppliers afterwards so the join sees one row per
+     * supplier rather than one per product. Suppliers without products are included with zero totals.
+     */
+    @Query("SELECT new com.example.productorders.DTO.SupplierSummaryDTO(s.id, coalesce(a.productCount, 0L), " +
+            "coalesce(a.lowStockCount, 0L), coalesce(a.totalStock, 0.0), coalesce(a.inventoryValue, 0.0), a.averagePrice) " +
+            "FROM Supplier s LEFT JOIN (SELECT p.supplier.id AS supplierId, count(p.id) AS productCount, " +
+            "sum(CASE WHEN p.stock < :lowStockThreshold THEN 1 ELSE 0 END) AS lowStockCount, sum(p.stock) AS totalStock, " +
+            "sum(p.price * p.stock) AS inventoryValue, avg(p.price) AS averagePrice " +
+            "FROM Product p GROUP BY p.supplier.id) a ON a.supplierId = s.id " +
+            "ORDER BY s.id")
+    List<SupplierSummaryDTO> findSupplierSummaries(@Param("lowStockThreshold") double lowStockThreshold);
+
+    /** Reads only the supplier's own products, through the supplier_id indexes. */
+    @Query("SELECT new com.example.productorders.DTO.SupplierSummaryDTO(s.id, count(p.id), " +
+            "sum(CASE WHEN p.stock < :lowStockThreshold THEN 1 ELSE 0 END), " +
+            "coalesce(sum(p.stock), 0.0), coalesce(sum(p.price * p.stock), 0.0), avg(p.price)) " +
+            "FROM Supplier s LEFT JOIN Product p ON p.supplier = s WHERE s.id = :supplierId GROUP BY s.id")
+    Optional<SupplierSummaryDTO> findSupplierSummary(@Param("supplierId") Long supplierId,
+                                                     @Param("lowStockThreshold") double lowStockThreshold);
 }
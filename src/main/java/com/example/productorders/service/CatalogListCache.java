@@ -0,0 +1,76 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.config.ListCacheProperties;
+import com.example.productorders.repository.ProductSort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serialized pages of {@code GET /products} and {@code GET /suppliers} (see {@link ListResponseCache}).
+ * Every product or supplier write reported to {@link CatalogVersions} starts a rebuild of the cached pages of
+ * that list on a single background thread, so at most one rebuild query runs at a time however often the
+ * catalog changes. With {@code app.list-cache.enabled} off each request is queried and serialized afresh.
+ */
+@Service
+public class CatalogListCache {
+
+    /** A product list request, with the page size already resolved. */
+    public record ProductListKey(String cursor, int size, ProductSort sort, ProductFilterDTO filter) {
+    }
+
+    /** A supplier list request, with the page size already resolved. */
+    public record SupplierListKey(String cursor, int size) {
+    }
+
+    private final ExecutorService rebuilder;
+    private final ListResponseCache<ProductListKey> products;
+    private final ListResponseCache<SupplierListKey> suppliers;
+
+    @Autowired
+    public CatalogListCache(ProductService productService, SupplierService supplierService, CatalogVersions catalogVersions,
+                            ListCacheProperties listCacheProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "list-cache-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        boolean enabled = listCacheProperties.isEnabled();
+        long maxBytes = listCacheProperties.getMaxSize().toBytes();
+        int gzipMinBytes = (int) listCacheProperties.getGzipMinSize().toBytes();
+
+        this.products = new ListResponseCache<>("productList", enabled, maxBytes, listCacheProperties.getIdleExpiry(),
+                gzipMinBytes, catalogVersions::productsTag,
+                key -> key.sort() == ProductSort.ID && !key.filter().hasCriteria()
+                        ? productService.getProductPage(key.cursor(), key.size())
+                        : productService.getFilteredProductPage(key.filter(), key.sort(), key.cursor(), key.size()),
+                objectMapper, rebuilder, meterRegistry);
+        this.suppliers = new ListResponseCache<>("supplierList", enabled, maxBytes, listCacheProperties.getIdleExpiry(),
+                gzipMinBytes, catalogVersions::suppliersTag,
+                key -> supplierService.getSupplierPage(key.cursor(), key.size()),
+                objectMapper, rebuilder, meterRegistry);
+
+        catalogVersions.onProductsChanged(products::invalidated);
+        catalogVersions.onSuppliersChanged(suppliers::invalidated);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    public ListResponseCache<ProductListKey> products() {
+        return products;
+    }
+
+    public ListResponseCache<SupplierListKey> suppliers() {
+        return suppliers;
+    }
+}
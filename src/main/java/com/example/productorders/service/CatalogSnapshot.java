@@ -0,0 +1,453 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.CatalogStatsDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.DTO.ProductFiguresDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, column-oriented copy of the catalog's numeric fields for analytics queries.
+ *
+ * <p>Each product takes one slot in three primitive arrays (id, price, stock), 24 bytes per product. Slots are
+ * grouped by supplier, so a supplier's products are one contiguous range: a supplier filter scans only that
+ * range and grouping by supplier needs no hash table. Scans are branch-free loops over the arrays, split into
+ * chunks of {@value #CHUNK} slots that run in parallel on the common fork-join pool.
+ */
+public final class CatalogSnapshot {
+
+    static final int CHUNK = 1 << 16;
+
+    public static final CatalogSnapshot EMPTY = new Builder(0).build(null);
+
+    public enum Metric {
+
+        PRICE,
+        STOCK,
+        /** Price times stock. */
+        VALUE;
+
+        public static Metric fromParameter(String metric) {
+            for (Metric value : values()) {
+                if (value.name().equalsIgnoreCase(metric)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported metric " + metric);
+        }
+    }
+
+    private final long[] ids;
+    private final double[] prices;
+    private final double[] stocks;
+    /** Slots of supplier ordinal {@code i} are {@code [supplierStart[i], supplierStart[i + 1])}. */
+    private final int[] supplierStart;
+    /** Ordered by id, with products that have no supplier last under a null id. */
+    private final Long[] supplierIds;
+    private final Map<Long, Integer> supplierOrdinals;
+    private final Instant builtAt;
+
+    private CatalogSnapshot(long[] ids, double[] prices, double[] stocks, int[] supplierStart, Long[] supplierIds,
+                            Instant builtAt) {
+        this.ids = ids;
+        this.prices = prices;
+        this.stocks = stocks;
+        this.supplierStart = supplierStart;
+        this.supplierIds = supplierIds;
+        this.supplierOrdinals = new HashMap<>();
+        for (int i = 0; i < supplierIds.length; i++) {
+            supplierOrdinals.put(supplierIds[i], i);
+        }
+        this.builtAt = builtAt;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /** Count, sums and extremes over the matching products; low stock means stock below {@code lowStockThreshold}. */
+    public CatalogStatsDTO stats(ProductFilterDTO filter, double lowStockThreshold) {
+        Bounds bounds = new Bounds(filter);
+        int[] range = supplierRange(filter.getSupplierId(), bounds);
+        Totals totals = scanParallel(supplierStart[range[0]], supplierStart[range[1]], bounds, lowStockThreshold);
+
+        boolean any = totals.count > 0;
+        return new CatalogStatsDTO(totals.count, totals.lowStockCount, totals.stockSum, totals.valueSum,
+                any ? totals.priceSum / totals.count : null,
+                any ? totals.minPrice : null, any ? totals.maxPrice : null,
+                any ? totals.minStock : null, any ? totals.maxStock : null,
+                builtAt);
+    }
+
+    /** One summary per supplier with at least one matching product, ordered by supplier id. */
+    public List<SupplierSummaryDTO> bySupplier(ProductFilterDTO filter, double lowStockThreshold) {
+        Bounds bounds = new Bounds(filter);
+        int[] range = supplierRange(filter.getSupplierId(), bounds);
+
+        return IntStream.range(range[0], range[1]).parallel()
+                .mapToObj(ordinal -> {
+                    Totals totals = scanParallel(supplierStart[ordinal], supplierStart[ordinal + 1], bounds, lowStockThreshold);
+                    if (totals.count == 0) {
+                        return null;
+                    }
+                    return new SupplierSummaryDTO(supplierIds[ordinal], totals.count, totals.lowStockCount,
+                            totals.stockSum, totals.valueSum, totals.priceSum / totals.count);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** The {@code limit} matching products with the highest {@code metric}, highest first; ties go to the lower id. */
+    public List<ProductFiguresDTO> top(ProductFilterDTO filter, Metric metric, int limit) {
+        Bounds bounds = new Bounds(filter);
+        int[] range = supplierRange(filter.getSupplierId(), bounds);
+        int from = supplierStart[range[0]];
+        int to = supplierStart[range[1]];
+
+        TopK best = IntStream.range(0, chunks(from, to)).parallel()
+                .mapToObj(chunk -> topOf(from + chunk * CHUNK, Math.min(to, from + (chunk + 1) * CHUNK), bounds, metric, limit))
+                .reduce(TopK::merge)
+                .orElseGet(() -> new TopK(limit));
+
+        int[] slots = best.slotsBestFirst();
+        int[] owners = ownersOf(slots);
+        List<ProductFiguresDTO> figures = new ArrayList<>(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            int slot = slots[i];
+            figures.add(new ProductFiguresDTO(ids[slot], supplierIds[owners[i]], prices[slot], stocks[slot]));
+        }
+        return figures;
+    }
+
+    /**
+     * Supplier ordinals {@code [from, to)} to scan: all of them, the filtered supplier's, or none when the
+     * supplier is unknown or the bounds cannot match anything.
+     */
+    private int[] supplierRange(Long supplierId, Bounds bounds) {
+        if (bounds.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        if (supplierId == null) {
+            return new int[]{0, supplierIds.length};
+        }
+        Integer ordinal = supplierOrdinals.get(supplierId);
+        return ordinal == null ? new int[]{0, 0} : new int[]{ordinal, ordinal + 1};
+    }
+
+    private Totals scanParallel(int from, int to, Bounds bounds, double lowStockThreshold) {
+        int chunks = chunks(from, to);
+        if (chunks <= 1) {
+            return scan(from, to, bounds, lowStockThreshold);
+        }
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> scan(from + chunk * CHUNK, Math.min(to, from + (chunk + 1) * CHUNK), bounds, lowStockThreshold))
+                .reduce(Totals::merge)
+                .orElseGet(Totals::new);
+    }
+
+    // Non-matching slots contribute neutral values instead of being skipped, which keeps the loop free of
+    // data-dependent branches
+    private Totals scan(int from, int to, Bounds bounds, double lowStockThreshold) {
+        long count = 0;
+        long lowStockCount = 0;
+        double priceSum = 0;
+        double stockSum = 0;
+        double valueSum = 0;
+        double minPrice = Double.POSITIVE_INFINITY;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+        double minStock = Double.POSITIVE_INFINITY;
+        double maxStock = Double.NEGATIVE_INFINITY;
+
+        for (int i = from; i < to; i++) {
+            double price = prices[i];
+            double stock = stocks[i];
+            boolean match = price >= bounds.minPrice & price < bounds.maxPrice
+                    & stock >= bounds.minStock & stock < bounds.maxStock;
+
+            count += match ? 1 : 0;
+            lowStockCount += match & stock < lowStockThreshold ? 1 : 0;
+            priceSum += match ? price : 0;
+            stockSum += match ? stock : 0;
+            valueSum += match ? price * stock : 0;
+            minPrice = Math.min(minPrice, match ? price : Double.POSITIVE_INFINITY);
+            maxPrice = Math.max(maxPrice, match ? price : Double.NEGATIVE_INFINITY);
+            minStock = Math.min(minStock, match ? stock : Double.POSITIVE_INFINITY);
+            maxStock = Math.max(maxStock, match ? stock : Double.NEGATIVE_INFINITY);
+        }
+
+        Totals totals = new Totals();
+        totals.count = count;
+        totals.lowStockCount = lowStockCount;
+        totals.priceSum = priceSum;
+        totals.stockSum = stockSum;
+        totals.valueSum = valueSum;
+        totals.minPrice = minPrice;
+        totals.maxPrice = maxPrice;
+        totals.minStock = minStock;
+        totals.maxStock = maxStock;
+        return totals;
+    }
+
+    private TopK topOf(int from, int to, Bounds bounds, Metric metric, int limit) {
+        TopK top = new TopK(limit);
+        for (int i = from; i < to; i++) {
+            double price = prices[i];
+            double stock = stocks[i];
+            if (price >= bounds.minPrice & price < bounds.maxPrice & stock >= bounds.minStock & stock < bounds.maxStock) {
+                double key = switch (metric) {
+                    case PRICE -> price;
+                    case STOCK -> stock;
+                    case VALUE -> price * stock;
+                };
+                top.offer(key, i, ids[i]);
+            }
+        }
+        return top;
+    }
+
+    /** Supplier ordinal owning each slot. Every supplier owns at least one slot, so range starts are distinct. */
+    private int[] ownersOf(int[] slots) {
+        int[] owners = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            int position = Arrays.binarySearch(supplierStart, slots[i]);
+            owners[i] = position >= 0 ? position : -position - 2;
+        }
+        return owners;
+    }
+
+    private static int chunks(int from, int to) {
+        return (to - from + CHUNK - 1) / CHUNK;
+    }
+
+    /** Filter bounds as half-open intervals, with unset ends open to infinity. */
+    private static final class Bounds {
+
+        final double minPrice;
+        final double maxPrice;
+        final double minStock;
+        final double maxStock;
+
+        Bounds(ProductFilterDTO filter) {
+            minPrice = filter.getMinPrice() == null ? Double.NEGATIVE_INFINITY : filter.getMinPrice();
+            maxPrice = filter.getMaxPrice() == null ? Double.POSITIVE_INFINITY : filter.getMaxPrice();
+            minStock = filter.getMinStock() == null ? Double.NEGATIVE_INFINITY : filter.getMinStock();
+            maxStock = filter.getMaxStock() == null ? Double.POSITIVE_INFINITY : filter.getMaxStock();
+        }
+
+        boolean isEmpty() {
+            return !(minPrice < maxPrice) || !(minStock < maxStock);
+        }
+    }
+
+    private static final class Totals {
+
+        long count;
+        long lowStockCount;
+        double priceSum;
+        double stockSum;
+        double valueSum;
+        double minPrice = Double.POSITIVE_INFINITY;
+        double maxPrice = Double.NEGATIVE_INFINITY;
+        double minStock = Double.POSITIVE_INFINITY;
+        double maxStock = Double.NEGATIVE_INFINITY;
+
+        Totals merge(Totals other) {
+            count += other.count;
+            lowStockCount += other.lowStockCount;
+            priceSum += other.priceSum;
+            stockSum += other.stockSum;
+            valueSum += other.valueSum;
+            minPrice = Math.min(minPrice, other.minPrice);
+            maxPrice = Math.max(maxPrice, other.maxPrice);
+            minStock = Math.min(minStock, other.minStock);
+            maxStock = Math.max(maxStock, other.maxStock);
+            return this;
+        }
+    }
+
+    /** Bounded min-heap over parallel primitive arrays; the root is the weakest of the entries kept. */
+    private static final class TopK {
+
+        private final int limit;
+        private final double[] keys;
+        private final int[] slots;
+        private final long[] ids;
+        private int size;
+
+        TopK(int limit) {
+            this.limit = limit;
+            this.keys = new double[limit];
+            this.slots = new int[limit];
+            this.ids = new long[limit];
+        }
+
+        void offer(double key, int slot, long id) {
+            if (size < limit) {
+                keys[size] = key;
+                slots[size] = slot;
+                ids[size] = id;
+                siftUp(size++);
+            } else if (limit > 0 && weaker(keys[0], ids[0], key, id)) {
+                keys[0] = key;
+                slots[0] = slot;
+                ids[0] = id;
+                siftDown(0);
+            }
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.keys[i], other.slots[i], other.ids[i]);
+            }
+            return this;
+        }
+
+        int[] slotsBestFirst() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> keys[i]).reversed()
+                    .thenComparingLong(i -> ids[i]));
+            int[] best = new int[size];
+            for (int i = 0; i < size; i++) {
+                best[i] = slots[order[i]];
+            }
+            return best;
+        }
+
+        private static boolean weaker(double key, long id, double otherKey, long otherId) {
+            return key < otherKey || (key == otherKey && id > otherId);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!weaker(keys[i], ids[i], keys[parent], ids[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int weakest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && weaker(keys[left], ids[left], keys[weakest], ids[weakest])) {
+                    weakest = left;
+                }
+                if (right < size && weaker(keys[right], ids[right], keys[weakest], ids[weakest])) {
+                    weakest = right;
+                }
+                if (weakest == i) {
+                    return;
+                }
+                swap(i, weakest);
+                i = weakest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            int slot = slots[a];
+            slots[a] = slots[b];
+            slots[b] = slot;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    /**
+     * Accumulates products in any order and lays them out grouped by supplier on {@link #build(Instant)}.
+     * Holds about 28 bytes per product until then, so a rebuild briefly needs that on top of the snapshot it replaces.
+     */
+    public static final class Builder {
+
+        private long[] ids;
+        private double[] prices;
+        private double[] stocks;
+        private int[] ordinals;
+        private final Map<Long, Integer> ordinalBySupplier = new HashMap<>();
+        private final List<Long> suppliersSeen = new ArrayList<>();
+        private int size;
+
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            ids = new long[capacity];
+            prices = new double[capacity];
+            stocks = new double[capacity];
+            ordinals = new int[capacity];
+        }
+
+        public Builder add(long id, Long supplierId, double price, double stock) {
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                stocks = Arrays.copyOf(stocks, capacity);
+                ordinals = Arrays.copyOf(ordinals, capacity);
+            }
+            Integer ordinal = ordinalBySupplier.get(supplierId);
+            if (ordinal == null) {
+                ordinal = suppliersSeen.size();
+                ordinalBySupplier.put(supplierId, ordinal);
+                suppliersSeen.add(supplierId);
+            }
+            ids[size] = id;
+            prices[size] = price;
+            stocks[size] = stock;
+            ordinals[size] = ordinal;
+            size++;
+            return this;
+        }
+
+        public CatalogSnapshot build(Instant builtAt) {
+            Long[] supplierIds = suppliersSeen.toArray(new Long[0]);
+            Arrays.sort(supplierIds, Comparator.nullsLast(Comparator.naturalOrder()));
+            int[] sortedOrdinal = new int[supplierIds.length];
+            for (int i = 0; i < supplierIds.length; i++) {
+                sortedOrdinal[ordinalBySupplier.get(supplierIds[i])] = i;
+            }
+
+            // Counting sort by supplier: count, turn counts into range starts, then place each product
+            int[] supplierStart = new int[supplierIds.length + 1];
+            for (int i = 0; i < size; i++) {
+                supplierStart[sortedOrdinal[ordinals[i]] + 1]++;
+            }
+            for (int i = 0; i < supplierIds.length; i++) {
+                supplierStart[i + 1] += supplierStart[i];
+            }
+
+            long[] sortedIds = new long[size];
+            double[] sortedPrices = new double[size];
+            double[] sortedStocks = new double[size];
+            int[] next = Arrays.copyOf(supplierStart, supplierIds.length);
+            for (int i = 0; i < size; i++) {
+                int slot = next[sortedOrdinal[ordinals[i]]]++;
+                sortedIds[slot] = ids[i];
+                sortedPrices[slot] = prices[i];
+                sortedStocks[slot] = stocks[i];
+            }
+            return new CatalogSnapshot(sortedIds, sortedPrices, sortedStocks, supplierStart, supplierIds, builtAt);
+        }
+    }
+}
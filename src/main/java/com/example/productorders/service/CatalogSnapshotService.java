@@ -0,0 +1,129 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.CatalogStatsDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.DTO.ProductFiguresDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.config.CatalogSnapshotProperties;
+import com.example.productorders.config.InventoryProperties;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the current {@link CatalogSnapshot} and replaces it with a fresh one every
+ * {@link CatalogSnapshotProperties#getRefreshInterval()}, on a thread of its own. Queries read whichever snapshot
+ * is current, so results can be up to one interval plus one rebuild behind the database.
+ * Only created when {@code app.analytics.snapshot.enabled} is true.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "app.analytics.snapshot", name = "enabled", havingValue = "true")
+public class CatalogSnapshotService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogSnapshotProperties catalogSnapshotProperties;
+    private final InventoryProperties inventoryProperties;
+    private final PaginationProperties paginationProperties;
+    private final Timer buildTimer;
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public CatalogSnapshotService(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                                  CatalogSnapshotProperties catalogSnapshotProperties, InventoryProperties inventoryProperties,
+                                  PaginationProperties paginationProperties, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.catalogSnapshotProperties = catalogSnapshotProperties;
+        this.inventoryProperties = inventoryProperties;
+        this.paginationProperties = paginationProperties;
+        this.buildTimer = Timer.builder("catalog.snapshot.build")
+                .description("Time to load the catalog snapshot from the database")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.products", this, service -> service.snapshot.size())
+                .description("Products in the current catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0,
+                catalogSnapshotProperties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /** Loads a new snapshot and makes it current. */
+    public synchronized CatalogSnapshot rebuild() {
+        log.info("rebuild in CatalogSnapshotService");
+
+        CatalogSnapshot rebuilt = buildTimer.record(() -> {
+            Instant startedAt = Instant.now();
+            CatalogSnapshot.Builder builder = new CatalogSnapshot.Builder((int) productRepository.count());
+            transactionTemplate.executeWithoutResult(status -> productRepository.streamAllProductFigures()
+                    .forEach(product -> builder.add(product.getId(), product.getSupplierId(), product.getPrice(), product.getStock())));
+            return builder.build(startedAt);
+        });
+        snapshot = rebuilt;
+        log.info("Catalog snapshot holds {} products", rebuilt.size());
+        return rebuilt;
+    }
+
+    public CatalogStatsDTO getStats(ProductFilterDTO filter) {
+        log.debug("getStats in CatalogSnapshotService");
+
+        filter.validate();
+        return snapshot.stats(filter, inventoryProperties.getLowStockThreshold());
+    }
+
+    public List<SupplierSummaryDTO> getSupplierBreakdown(ProductFilterDTO filter) {
+        log.debug("getSupplierBreakdown in CatalogSnapshotService");
+
+        filter.validate();
+        return snapshot.bySupplier(filter, inventoryProperties.getLowStockThreshold());
+    }
+
+    public List<ProductFiguresDTO> getTop(ProductFilterDTO filter, CatalogSnapshot.Metric metric, Integer limit) {
+        log.debug("getTop in CatalogSnapshotService");
+
+        filter.validate();
+        return snapshot.top(filter, metric, paginationProperties.resolveSize(limit));
+    }
+
+    // A failed rebuild keeps the previous snapshot; letting the exception out would cancel the schedule
+    private void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Catalog snapshot rebuild failed", e);
+        }
+    }
+}
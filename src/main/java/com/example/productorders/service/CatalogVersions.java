@@ -0,0 +1,54 @@
+package com.example.productorders.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog-wide change counters that the list ETags are built from. Every write path bumps the counter for what it
+ * changed once its transaction has committed, so a list read that takes the tag before querying can only ever pair
+ * fresh rows with an old tag, never stale rows with a new one.
+ *
+ * <p>The counters live in memory. Tags carry a random per-instance epoch so they never repeat across restarts or
+ * match between instances; a request that lands on another instance just gets a full response.
+ *
+ * <p>Listeners run on the writing thread right after the bump and must only hand work off.
+ */
+@Component
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong products = new AtomicLong();
+    private final AtomicLong suppliers = new AtomicLong();
+    private final List<Runnable> productListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> supplierListeners = new CopyOnWriteArrayList<>();
+
+    public void productsChanged() {
+        products.incrementAndGet();
+        productListeners.forEach(Runnable::run);
+    }
+
+    public void suppliersChanged() {
+        suppliers.incrementAndGet();
+        supplierListeners.forEach(Runnable::run);
+    }
+
+    public void onProductsChanged(Runnable listener) {
+        productListeners.add(listener);
+    }
+
+    public void onSuppliersChanged(Runnable listener) {
+        supplierListeners.add(listener);
+    }
+
+    public String productsTag() {
+        return epoch + "-" + products.get();
+    }
+
+    public String suppliersTag() {
+        return epoch + "-" + suppliers.get();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.PageDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized list pages, keyed by the request that produced them and the {@link PayloadFormat} they were
+ * written in, and stamped with the catalog tag (see {@link CatalogVersions}) taken before the page was queried.
+ *
+ * <p>A page whose tag no longer matches the catalog is still served as is; rebuilding it is left to the
+ * executor, which works through every stale page one query at a time. Readers therefore only wait for the
+ * database when a page is not cached at all. A page that fails to rebuild stays stale and is retried after
+ * the next read of it.
+ *
+ * <p>Publishes the usual Caffeine cache meters under the cache name and the {@code listResponseCache} manager, plus {@code list.cache.stale} for pages
+ * served while stale and {@code list.cache.rebuild} for background rebuilds.
+ */
+@Slf4j
+public class ListResponseCache<K> {
+
+    /** A serialized page of {@code rows} items. {@code gzip} is null for pages too small to be worth compressing. */
+    public record Page(String tag, int rows, byte[] body, byte[] gzip, String nextCursor) {
+
+        int weight() {
+            return body.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private record Entry<K>(K key, PayloadFormat format) {
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+    private final Supplier<String> tags;
+    private final Function<K, PageDTO<?>> loader;
+    private final Map<PayloadFormat, ObjectMapper> mappers = new EnumMap<>(PayloadFormat.class);
+    private final Executor executor;
+    private final Cache<Entry<K>, Page> cache;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final Counter staleReads;
+    private final Timer rebuildTimer;
+
+    public ListResponseCache(String name, boolean enabled, long maxBytes, Duration idleExpiry, int gzipMinBytes,
+                             Supplier<String> tags, Function<K, PageDTO<?>> loader, ObjectMapper objectMapper,
+                             Executor executor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = enabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.tags = tags;
+        this.loader = loader;
+        for (PayloadFormat format : PayloadFormat.values()) {
+            mappers.put(format, format.mapperFrom(objectMapper));
+        }
+        this.executor = executor;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<Entry<K>, Page>weigher((entry, page) -> page.weight())
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        // Same tag keys as Boot's meters for the Spring caches, which Prometheus requires of one meter name
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name, Tags.of("cache.manager", "listResponseCache", "name", name));
+        this.staleReads = Counter.builder("list.cache.stale")
+                .description("Pages served while a newer version was pending")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("list.cache.rebuild")
+                .description("Time to query and serialize one page in the background")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /** The tag of the page {@link #get} would return right now; free of database access. */
+    public String tag(K key, PayloadFormat format) {
+        Page page = enabled ? cache.getIfPresent(new Entry<>(key, format)) : null;
+        return page == null ? tags.get() : page.tag();
+    }
+
+    public Page get(K key, PayloadFormat format) {
+        Entry<K> entry = new Entry<>(key, format);
+        if (!enabled) {
+            return load(entry);
+        }
+
+        Page page = cache.getIfPresent(entry);
+        if (page == null) {
+            // Concurrent misses for the same entry share one load
+            return cache.get(entry, this::load);
+        }
+        if (!page.tag().equals(tags.get())) {
+            staleReads.increment();
+            scheduleRebuild();
+        }
+        return page;
+    }
+
+    /** Called after a write to the catalog; starts rebuilding the cached pages without waiting for a read. */
+    public void invalidated() {
+        if (enabled) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            executor.execute(this::rebuildStale);
+        }
+    }
+
+    private void rebuildStale() {
+        // Cleared first, so a write that lands during this pass schedules another one
+        rebuildScheduled.set(false);
+
+        for (Entry<K> entry : List.copyOf(cache.asMap().keySet())) {
+            Page stale = cache.policy().getIfPresentQuietly(entry);
+            if (stale == null || stale.tag().equals(tags.get())) {
+                continue;
+            }
+            try {
+                Page fresh = rebuildTimer.record(() -> load(entry));
+                // Skipped if the page was dropped or replaced meanwhile
+                cache.asMap().replace(entry, stale, fresh);
+            } catch (RuntimeException e) {
+                log.warn("Rebuilding a {} page failed, serving the previous one", name, e);
+            }
+        }
+    }
+
+    private Page load(Entry<K> entry) {
+        // Taken before the query so the page can only be newer than its tag, never older
+        String tag = tags.get();
+        PageDTO<?> page = loader.apply(entry.key());
+        try {
+            byte[] body = mappers.get(entry.format()).writeValueAsBytes(page.getItems());
+            byte[] gzip = enabled && body.length >= gzipMinBytes ? gzip(body) : null;
+            return new Page(tag, page.getItems().size(), body, gzip, page.getNextCursor());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
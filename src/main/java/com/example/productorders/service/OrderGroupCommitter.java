@@ -0,0 +1,307 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.OrderLineDTO;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.config.GroupCommitProperties;
+import com.example.productorders.exception.InsufficientStockException;
+import com.example.productorders.exception.OrderPlacementException;
+import com.example.productorders.model.Order;
+import com.example.productorders.model.OrderLine;
+import com.example.productorders.model.Product;
+import com.example.productorders.repository.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes orders through a single writer thread that groups whatever orders are pending into one transaction.
+ *
+ * <p>For a batch, every line's stock decrement goes out as one JDBC batch of conditional updates. Orders with a
+ * line that matched no row have their other lines released and are then retried one line at a time, so an order
+ * is rejected only if its stock is really short once the rest of the batch has been applied. The surviving orders
+ * are inserted with one flush and the transaction commits once for all of them; callers are completed only after
+ * that commit. If the batch transaction itself fails (a deadlock, say) every order is retried in a transaction of
+ * its own so one bad order cannot sink its neighbours.
+ */
+@Component
+@Slf4j
+public class OrderGroupCommitter {
+
+    private static final String RESERVE_SQL = "UPDATE product SET stock = stock - ?, version = version + 1 WHERE id = ? AND stock >= ?";
+    private static final String RELEASE_SQL = "UPDATE product SET stock = stock + ?, version = version + 1 WHERE id = ?";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final CatalogVersions catalogVersions;
+    private final GroupCommitProperties properties;
+    private final BlockingQueue<PendingOrder> queue;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public OrderGroupCommitter(ProductRepository productRepository, JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                               CatalogVersions catalogVersions, GroupCommitProperties properties, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.catalogVersions = catalogVersions;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSizes = DistributionSummary.builder("orders.group_commit.batch.size")
+                .description("Orders committed per transaction")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("orders.group_commit.commit")
+                .description("Time to write and commit one batch of orders")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "order-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        PendingOrder pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new OrderPlacementException("Order writer is shutting down"));
+        }
+    }
+
+    /**
+     * Queues an order whose lines are already merged per product and sorted by product id.
+     * The future completes with the committed order, or with the reason it was rejected.
+     */
+    public CompletableFuture<Order> submit(List<OrderLineDTO> lines) {
+        PendingOrder pending = new PendingOrder(lines, new CompletableFuture<>());
+        if (!running) {
+            throw new OrderPlacementException("Order writer is not running");
+        }
+        if (!queue.offer(pending)) {
+            throw new OrderPlacementException("Order queue is full");
+        }
+        return pending.result();
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(properties.getMaxBatch());
+        try {
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                    collect(batch);
+                    commit(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable e) {
+                    // Errors too: the batch's callers must hear about it, and the writer must outlive one bad batch
+                    log.error("Order group commit failed", e);
+                    for (PendingOrder pending : batch) {
+                        pending.result().completeExceptionally(e);
+                    }
+                } finally {
+                    batch.clear();
+                }
+            }
+        } finally {
+            // Should the writer end anyway, refuse new orders at once instead of letting them time out in the queue
+            running = false;
+        }
+    }
+
+    private void collect(List<PendingOrder> batch) throws InterruptedException {
+        int maxBatch = properties.getMaxBatch();
+        queue.drainTo(batch, maxBatch - batch.size());
+
+        long deadline = System.nanoTime() + properties.getLinger().toNanos();
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatch - batch.size());
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        batchSizes.record(batch.size());
+
+        Object[] outcomes;
+        try {
+            outcomes = commitTimer.record(() -> transactionTemplate.execute(status -> placeAll(batch)));
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} orders failed, retrying them one by one", batch.size(), e);
+            outcomes = new Object[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                List<PendingOrder> single = List.of(batch.get(i));
+                try {
+                    outcomes[i] = transactionTemplate.execute(status -> placeAll(single))[0];
+                } catch (RuntimeException singleFailure) {
+                    outcomes[i] = singleFailure;
+                }
+            }
+        }
+
+        Set<Long> touchedProducts = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOrder pending = batch.get(i);
+            if (outcomes[i] instanceof Order order) {
+                pending.lines().forEach(line -> touchedProducts.add(line.getProductId()));
+                pending.result().complete(order);
+            } else {
+                pending.result().completeExceptionally((Throwable) outcomes[i]);
+            }
+        }
+        evictProducts(touchedProducts);
+    }
+
+    /**
+     * Runs inside the batch transaction. Returns, per pending order, either the persisted {@link Order} or the
+     * exception explaining why it was rejected.
+     */
+    private Object[] placeAll(List<PendingOrder> batch) {
+        List<Object[]> reservations = new ArrayList<>();
+        for (PendingOrder pending : batch) {
+            for (OrderLineDTO line : pending.lines()) {
+                reservations.add(new Object[]{line.getQuantity(), line.getProductId(), line.getQuantity()});
+            }
+        }
+        int[] counts = jdbcTemplate.batchUpdate(RESERVE_SQL, reservations);
+
+        Object[] outcomes = new Object[batch.size()];
+        List<Integer> shortOrders = new ArrayList<>();
+        List<Object[]> compensations = new ArrayList<>();
+        int line = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            int first = line;
+            boolean complete = true;
+            for (int j = 0; j < batch.get(i).lines().size(); j++) {
+                complete &= counts[line++] > 0;
+            }
+            if (!complete) {
+                shortOrders.add(i);
+                for (int k = first; k < line; k++) {
+                    if (counts[k] > 0) {
+                        compensations.add(new Object[]{reservations.get(k)[0], reservations.get(k)[1]});
+                    }
+                }
+            }
+        }
+
+        if (!compensations.isEmpty()) {
+            jdbcTemplate.batchUpdate(RELEASE_SQL, compensations);
+        }
+        for (int i : shortOrders) {
+            outcomes[i] = reserveLineByLine(batch.get(i).lines());
+        }
+
+        Set<Long> productIds = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (outcomes[i] == null) {
+                batch.get(i).lines().forEach(orderLine -> productIds.add(orderLine.getProductId()));
+            }
+        }
+        Map<Long, Double> prices = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (Object[] row : productRepository.findPricesByIds(productIds)) {
+                prices.put((Long) row[0], (Double) row[1]);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (int i = 0; i < batch.size(); i++) {
+            if (outcomes[i] != null) {
+                continue;
+            }
+            Order order = new Order();
+            order.setCreatedAt(now);
+            for (OrderLineDTO lineDTO : batch.get(i).lines()) {
+                Product product = entityManager.getReference(Product.class, lineDTO.getProductId());
+                order.addLine(new OrderLine(null, null, product, lineDTO.getQuantity(), prices.get(lineDTO.getProductId())));
+            }
+            entityManager.persist(order);
+            outcomes[i] = order;
+        }
+        entityManager.flush();
+
+        return outcomes;
+    }
+
+    /** Returns null when every line was reserved, otherwise the rejection with all of the order's lines released. */
+    private RuntimeException reserveLineByLine(List<OrderLineDTO> lines) {
+        for (int i = 0; i < lines.size(); i++) {
+            OrderLineDTO line = lines.get(i);
+            if (jdbcTemplate.update(RESERVE_SQL, line.getQuantity(), line.getProductId(), line.getQuantity()) == 0) {
+                for (int j = 0; j < i; j++) {
+                    jdbcTemplate.update(RELEASE_SQL, lines.get(j).getQuantity(), lines.get(j).getProductId());
+                }
+                if (!productRepository.existsById(line.getProductId())) {
+                    return new EntityNotFoundException("Cannot find product with id " + line.getProductId());
+                }
+                return new InsufficientStockException(line.getProductId(), line.getQuantity());
+            }
+        }
+        return null;
+    }
+
+    private void evictProducts(Set<Long> productIds) {
+        if (!productIds.isEmpty()) {
+            catalogVersions.productsChanged();
+        }
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Cache productSuppliers = cacheManager.getCache(CacheConfig.PRODUCT_SUPPLIERS);
+        for (Long productId : productIds) {
+            products.evict(productId);
+            productSuppliers.evict(productId);
+        }
+    }
+
+    private record PendingOrder(List<OrderLineDTO> lines, CompletableFuture<Order> result) {
+    }
+}
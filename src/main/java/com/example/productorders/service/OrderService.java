@@ -0,0 +1,108 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.OrderDTO;
+import com.example.productorders.DTO.OrderLineDTO;
+import com.example.productorders.config.GroupCommitProperties;
+import com.example.productorders.exception.OrderPlacementException;
+import com.example.productorders.model.Order;
+import com.example.productorders.model.OrderLine;
+import com.example.productorders.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+public class OrderService {
+
+    private final OrderRepository orderRepository;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final GroupCommitProperties groupCommitProperties;
+
+    @Autowired
+    public OrderService(OrderRepository orderRepository, OrderGroupCommitter orderGroupCommitter,
+                        GroupCommitProperties groupCommitProperties) {
+        this.orderRepository = orderRepository;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.groupCommitProperties = groupCommitProperties;
+    }
+
+    public OrderDTO fromEntityToDTO(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+
+        List<OrderLineDTO> lines = new ArrayList<>(order.getLines().size());
+        for (OrderLine line : order.getLines()) {
+            lines.add(new OrderLineDTO(line.getProduct().getId(), line.getQuantity(), line.getUnitPrice()));
+        }
+        return new OrderDTO(order.getId(), order.getCreatedAt(), lines);
+    }
+
+    public OrderDTO placeOrder(OrderDTO orderDTO) {
+        log.debug("placeOrder in OrderService");
+
+        List<OrderLineDTO> lines = normalizeLines(orderDTO);
+        CompletableFuture<Order> placed = orderGroupCommitter.submit(lines);
+
+        try {
+            return fromEntityToDTO(placed.get(groupCommitProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new OrderPlacementException("Order placement failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new OrderPlacementException("Order was not confirmed in time; it may still be placed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderPlacementException("Interrupted while placing order", e);
+        }
+    }
+
+    public OrderDTO getOrderById(Long id) {
+        log.debug("getOrderById in OrderService");
+
+        if (id < 0) {
+            throw new IllegalArgumentException("Id cannot be negative");
+        }
+
+        Order order = orderRepository.findOrderWithLines(id).orElseThrow(() -> new EntityNotFoundException("Cannot find order with id " + id));
+        return fromEntityToDTO(order);
+    }
+
+    /**
+     * Merges repeated products into one line and sorts lines by product id, so every writer
+     * takes product row locks in the same order.
+     */
+    private List<OrderLineDTO> normalizeLines(OrderDTO orderDTO) {
+        if (orderDTO == null || orderDTO.getLines() == null || orderDTO.getLines().isEmpty()) {
+            throw new IllegalArgumentException("Order must have at least one line");
+        }
+
+        Map<Long, Double> quantities = new TreeMap<>();
+        for (OrderLineDTO line : orderDTO.getLines()) {
+            if (line == null || line.getProductId() == null) {
+                throw new IllegalArgumentException("Order line has no product Id");
+            }
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive");
+            }
+            quantities.merge(line.getProductId(), line.getQuantity(), Double::sum);
+        }
+
+        List<OrderLineDTO> lines = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> lines.add(new OrderLineDTO(productId, quantity)));
+        return lines;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.productorders.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body formats of the catalog endpoints, chosen by the {@code Accept} header. JSON is the default; CBOR and
+ * Smile carry the same fields in a binary encoding that is smaller and cheaper to parse.
+ */
+public enum PayloadFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    PayloadFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /** A mapper for this format configured like {@code jsonMapper}, which is returned as is for JSON. */
+    public ObjectMapper mapperFrom(ObjectMapper jsonMapper) {
+        return switch (this) {
+            case JSON -> jsonMapper;
+            case CBOR -> jsonMapper.copyWith(new CBORFactory());
+            case SMILE -> jsonMapper.copyWith(new SmileFactory());
+        };
+    }
+
+    /**
+     * The entity tag of this format's representation. JSON keeps the bare tag so existing validators stay good;
+     * the binary formats get a suffix, since the same tag may not name two different bodies.
+     */
+    public String etag(String tag) {
+        return this == JSON ? tag : tag + "-" + name().toLowerCase();
+    }
+
+    /** The most preferred format the accepted media types allow, JSON when nothing is asked for, or null if none fits. */
+    public static PayloadFormat negotiate(List<MediaType> accepted) {
+        if (accepted.isEmpty()) {
+            return JSON;
+        }
+        List<MediaType> preferred = new ArrayList<>(accepted);
+        MimeTypeUtils.sortBySpecificity(preferred);
+        for (MediaType mediaType : preferred) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (PayloadFormat value : values()) {
+                if (mediaType.isCompatibleWith(value.mediaType)) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.BatchItemResultDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.config.BulkWriteProperties;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.model.Product;
+import com.example.productorders.model.Supplier;
+import com.example.productorders.repository.ProductRepository;
+import com.example.productorders.repository.SupplierRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates or updates many products at once.
+ * Supplier ids are checked with one query for the whole request, and rows are written in chunks of
+ * {@link BulkWriteProperties#getChunkSize()}, each chunk in its own transaction so Hibernate can batch the
+ * inserts and updates. A failing chunk is rolled back and reported without affecting the other chunks.
+ */
+@Service
+@Slf4j
+public class ProductBatchService {
+
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkWriteProperties bulkWriteProperties;
+    private final CacheManager cacheManager;
+    private final ProductSearchService productSearchService;
+    private final CatalogVersions catalogVersions;
+
+    @Autowired
+    public ProductBatchService(ProductRepository productRepository, SupplierRepository supplierRepository,
+                               EntityManager entityManager, PlatformTransactionManager transactionManager,
+                               BulkWriteProperties bulkWriteProperties, CacheManager cacheManager,
+                               ProductSearchService productSearchService, CatalogVersions catalogVersions) {
+        this.productRepository = productRepository;
+        this.supplierRepository = supplierRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkWriteProperties = bulkWriteProperties;
+        this.cacheManager = cacheManager;
+        this.productSearchService = productSearchService;
+        this.catalogVersions = catalogVersions;
+    }
+
+    public List<BatchItemResultDTO> upsertProducts(List<ProductDTO> productDTOs) {
+        log.debug("upsertProducts in ProductBatchService");
+
+        if (productDTOs == null) {
+            throw new IllegalArgumentException("Product list cannot be null");
+        }
+        if (productDTOs.size() > bulkWriteProperties.getMaxItems()) {
+            throw new IllegalArgumentException("Batch cannot exceed " + bulkWriteProperties.getMaxItems() + " products");
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[productDTOs.size()];
+
+        Set<Long> supplierIds = new HashSet<>();
+        for (ProductDTO productDTO : productDTOs) {
+            if (productDTO != null && productDTO.getSupplierId() != null) {
+                supplierIds.add(productDTO.getSupplierId());
+            }
+        }
+        Set<Long> existingSupplierIds = supplierIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(supplierRepository.findExistingIds(supplierIds));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < productDTOs.size(); i++) {
+            String problem = validate(productDTOs.get(i), existingSupplierIds);
+            if (problem != null) {
+                results[i] = new BatchItemResultDTO(i, null, BatchItemResultDTO.Status.REJECTED, problem);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        int chunkSize = bulkWriteProperties.getChunkSize();
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeChunk(productDTOs, chunk, results));
+            } catch (RuntimeException e) {
+                log.warn("Batch chunk of {} products failed", chunk.size(), e);
+                for (int index : chunk) {
+                    results[index] = new BatchItemResultDTO(index, null, BatchItemResultDTO.Status.FAILED, e.getMessage());
+                }
+            } finally {
+                entityManager.clear();
+            }
+        }
+
+        evictUpdated(results);
+        indexWritten(productDTOs, results);
+        catalogVersions.productsChanged();
+        return List.of(results);
+    }
+
+    private void evictUpdated(BatchItemResultDTO[] results) {
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Cache productSuppliers = cacheManager.getCache(CacheConfig.PRODUCT_SUPPLIERS);
+        for (BatchItemResultDTO result : results) {
+            if (result.getStatus() == BatchItemResultDTO.Status.UPDATED) {
+                products.evict(result.getId());
+                productSuppliers.evict(result.getId());
+            }
+        }
+    }
+
+    private void indexWritten(List<ProductDTO> productDTOs, BatchItemResultDTO[] results) {
+        for (BatchItemResultDTO result : results) {
+            if (result.getStatus() == BatchItemResultDTO.Status.CREATED || result.getStatus() == BatchItemResultDTO.Status.UPDATED) {
+                productSearchService.index(result.getId(), productDTOs.get(result.getIndex()).getName());
+            }
+        }
+    }
+
+    private void writeChunk(List<ProductDTO> productDTOs, List<Integer> chunk, BatchItemResultDTO[] results) {
+        Set<Long> updateIds = new HashSet<>();
+        for (int index : chunk) {
+            Long id = productDTOs.get(index).getId();
+            if (id != null) {
+                updateIds.add(id);
+            }
+        }
+
+        Map<Long, Product> existing = new HashMap<>();
+        if (!updateIds.isEmpty()) {
+            for (Product product : productRepository.findAllById(updateIds)) {
+                existing.put(product.getId(), product);
+            }
+        }
+
+        List<Product> written = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            ProductDTO productDTO = productDTOs.get(index);
+            Product product;
+
+            if (productDTO.getId() == null) {
+                product = new Product();
+            } else {
+                product = existing.get(productDTO.getId());
+                if (product == null) {
+                    results[index] = new BatchItemResultDTO(index, productDTO.getId(), BatchItemResultDTO.Status.REJECTED,
+                            "Cannot find product with id " + productDTO.getId());
+                    written.add(null);
+                    continue;
+                }
+            }
+
+            product.setName(productDTO.getName());
+            product.setPrice(productDTO.getPrice());
+            product.setStock(productDTO.getStock());
+            // Existence was checked up front; a reference avoids loading the supplier row
+            product.setSupplier(entityManager.getReference(Supplier.class, productDTO.getSupplierId()));
+
+            if (product.getId() == null) {
+                entityManager.persist(product);
+            }
+            written.add(product);
+        }
+
+        entityManager.flush();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Product product = written.get(i);
+            if (product == null) {
+                continue;
+            }
+            int index = chunk.get(i);
+            BatchItemResultDTO.Status status = productDTOs.get(index).getId() == null
+                    ? BatchItemResultDTO.Status.CREATED
+                    : BatchItemResultDTO.Status.UPDATED;
+            results[index] = new BatchItemResultDTO(index, product.getId(), status, null);
+        }
+    }
+
+    private String validate(ProductDTO productDTO, Set<Long> existingSupplierIds) {
+        if (productDTO == null) {
+            return "Product cannot be null";
+        }
+        if (productDTO.getName() == null || productDTO.getPrice() == null || productDTO.getStock() == null) {
+            return "Name, price and stock are required";
+        }
+        if (productDTO.getSupplierId() == null) {
+            return "Product has no associated supplier Id";
+        }
+        if (!existingSupplierIds.contains(productDTO.getSupplierId())) {
+            return "Cannot find supplier with id " + productDTO.getSupplierId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole product catalog to an output stream without materializing it.
+ * Rows are read as DTO projections through a forward-only cursor, so nothing is attached to the
+ * persistence context, and the output is flushed every {@link ProductRepository#EXPORT_FETCH_SIZE} rows.
+ */
+@Service
+@Slf4j
+public class ProductExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository productRepository;
+    private final ObjectWriter productWriter;
+
+    @Autowired
+    public ProductExportService(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.productWriter = objectMapper.writerFor(ProductDTO.class);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportProducts(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.debug("exportProducts in ProductExportService");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        long rows = 0;
+
+        try (Stream<ProductDTO> products = productRepository.streamAllProductDTOs()) {
+
+            if (format == ExportFormat.CSV) {
+                writer.write("id,name,price,stock,supplierId\n");
+            }
+
+            Iterator<ProductDTO> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                ProductDTO productDTO = iterator.next();
+
+                if (format == ExportFormat.NDJSON) {
+                    writer.write(productWriter.writeValueAsString(productDTO));
+                    writer.write('\n');
+                } else {
+                    writeCsvRow(writer, productDTO);
+                }
+
+                if (++rows % ProductRepository.EXPORT_FETCH_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, ProductDTO productDTO) throws IOException {
+        writer.write(String.valueOf(productDTO.getId()));
+        writer.write(',');
+        writer.write(escapeCsv(productDTO.getName()));
+        writer.write(',');
+        writer.write(String.valueOf(productDTO.getPrice()));
+        writer.write(',');
+        writer.write(String.valueOf(productDTO.getStock()));
+        writer.write(',');
+        writer.write(String.valueOf(productDTO.getSupplierId()));
+        writer.write('\n');
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
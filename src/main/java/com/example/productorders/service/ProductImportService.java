@@ -0,0 +1,421 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.BatchItemResultDTO;
+import com.example.productorders.DTO.ImportRejectionDTO;
+import com.example.productorders.DTO.ImportStatusDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.config.ImportProperties;
+import com.example.productorders.exception.ImportCapacityException;
+import com.example.productorders.exception.ImportConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Loads products from a CSV or NDJSON upload in the layout {@link ProductExportService} writes, so an export can
+ * be imported again. Rows with an id update that product; rows without one create a product.
+ *
+ * <p>The calling thread parses the upload as it arrives and hands batches of {@link ImportProperties#getBatchSize()}
+ * rows to a writer thread through a queue of {@link ImportProperties#getQueueCapacity()} batches. Each batch goes
+ * through {@link ProductBatchService#upsertProducts}, which validates it and writes it in chunked transactions.
+ * When the writer falls behind the queue fills and the parser stops reading, so memory stays bounded by the
+ * queue however large the upload is. A row that cannot be parsed or fails validation is rejected and the
+ * import carries on. A record longer than {@link ImportProperties#getMaxRecordLength()} fails the import, since
+ * the parser cannot tell where the next row starts once one runs away. Progress is visible through {@link #getImport} while it runs, under an id the client may
+ * choose up front since the id assigned otherwise is only returned once the upload is done.
+ *
+ * <p>At most {@link ImportProperties#getMaxConcurrentImports()} imports run at once, each holding a request thread
+ * and a writer thread; further uploads are refused before their body is read.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final String[] CSV_COLUMNS = {"id", "name", "price", "stock", "supplierId"};
+    private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._~-]{1,64}");
+
+    private final ProductBatchService productBatchService;
+    private final ImportProperties importProperties;
+    private final ObjectReader productReader;
+    private final ExecutorService writers;
+    private final Semaphore slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, ProductImport> imports = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductImportService(ProductBatchService productBatchService, ImportProperties importProperties, ObjectMapper objectMapper) {
+        this.productBatchService = productBatchService;
+        this.importProperties = importProperties;
+        this.productReader = objectMapper.readerFor(ProductDTO.class);
+        this.slots = new Semaphore(importProperties.getMaxConcurrentImports());
+        this.writers = Executors.newFixedThreadPool(importProperties.getMaxConcurrentImports(), runnable -> {
+            Thread thread = new Thread(runnable, "product-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        writers.shutdownNow();
+    }
+
+    /**
+     * Runs the import to the end of the upload and returns its final status. The import is registered under
+     * {@code requestedId} when given, so it can be polled while this call is still reading, or under an assigned id.
+     */
+    public ImportStatusDTO importProducts(ExportFormat format, String requestedId, InputStream inputStream) {
+        log.debug("importProducts in ProductImportService");
+
+        if (requestedId != null && !IMPORT_ID.matcher(requestedId).matches()) {
+            throw new IllegalArgumentException("Import id must be 1 to 64 letters, digits or any of . _ ~ -");
+        }
+        if (!slots.tryAcquire()) {
+            throw new ImportCapacityException(importProperties.getMaxConcurrentImports());
+        }
+        try {
+            ProductImport productImport = register(format, requestedId);
+            pruneFinished();
+            return run(productImport, inputStream);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private ProductImport register(ExportFormat format, String requestedId) {
+        while (true) {
+            long position = sequence.incrementAndGet();
+            String id = requestedId != null ? requestedId : String.valueOf(position);
+            ProductImport productImport = new ProductImport(id, position, format, importProperties.getMaxRejectionsReported());
+            if (imports.putIfAbsent(id, productImport) == null) {
+                return productImport;
+            }
+            if (requestedId != null) {
+                throw new ImportConflictException(requestedId);
+            }
+            // A client chose this number as its id; try the next one
+        }
+    }
+
+    private ImportStatusDTO run(ProductImport productImport, InputStream inputStream) {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(importProperties.getQueueCapacity());
+        Future<?> writer = writers.submit(() -> write(queue, productImport));
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            if (productImport.format == ExportFormat.CSV) {
+                parseCsv(reader, queue, writer, productImport);
+            } else {
+                parseNdjson(reader, queue, writer, productImport);
+            }
+            enqueue(Batch.END, queue, writer);
+            writer.get();
+            productImport.finish(ImportStatusDTO.State.COMPLETED, null);
+        } catch (IOException | RuntimeException | ExecutionException e) {
+            writer.cancel(true);
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            log.warn("Import {} failed", productImport.id, cause);
+            productImport.finish(ImportStatusDTO.State.FAILED, cause.getMessage());
+        } catch (InterruptedException e) {
+            writer.cancel(true);
+            Thread.currentThread().interrupt();
+            productImport.finish(ImportStatusDTO.State.FAILED, "Import was interrupted");
+        }
+        return productImport.toDTO();
+    }
+
+    public ImportStatusDTO getImport(String id) {
+        log.debug("getImport in ProductImportService");
+
+        ProductImport productImport = imports.get(id);
+        if (productImport == null) {
+            throw new EntityNotFoundException("Cannot find import with id " + id);
+        }
+        return productImport.toDTO();
+    }
+
+    /** Running and retained imports, newest first. */
+    public List<ImportStatusDTO> getImports() {
+        log.debug("getImports in ProductImportService");
+
+        return imports.values().stream()
+                .sorted(Comparator.comparingLong((ProductImport productImport) -> productImport.position).reversed())
+                .map(ProductImport::toDTO)
+                .toList();
+    }
+
+    private void parseCsv(BufferedReader reader, BlockingQueue<Batch> queue, Future<?> writer, ProductImport productImport)
+            throws IOException, InterruptedException, ExecutionException {
+        CsvRecordReader records = new CsvRecordReader(reader, importProperties.getMaxRecordLength());
+        List<String> header = records.next();
+        if (header == null) {
+            return;
+        }
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            columns[i] = header.indexOf(CSV_COLUMNS[i]);
+        }
+        if (columns[1] < 0 || columns[2] < 0 || columns[3] < 0 || columns[4] < 0) {
+            throw new IllegalArgumentException("CSV header must name the columns name, price, stock and supplierId");
+        }
+
+        Batch batch = new Batch(importProperties.getBatchSize());
+        List<String> record;
+        while ((record = records.next()) != null) {
+            productImport.rowsRead.incrementAndGet();
+            try {
+                batch.add(records.recordLine(), new ProductDTO(
+                        parseLong(column(record, columns[0])),
+                        column(record, columns[1]),
+                        parseDouble(column(record, columns[2])),
+                        parseDouble(column(record, columns[3])),
+                        parseLong(column(record, columns[4]))));
+            } catch (IllegalArgumentException e) {
+                productImport.reject(records.recordLine(), e.getMessage());
+            }
+            batch = flushIfFull(batch, queue, writer);
+        }
+        enqueue(batch, queue, writer);
+    }
+
+    private void parseNdjson(BufferedReader reader, BlockingQueue<Batch> queue, Future<?> writer, ProductImport productImport)
+            throws IOException, InterruptedException, ExecutionException {
+        Batch batch = new Batch(importProperties.getBatchSize());
+        long lineNumber = 0;
+        String line;
+        while ((line = readLine(reader, importProperties.getMaxRecordLength(), lineNumber + 1)) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            productImport.rowsRead.incrementAndGet();
+            try {
+                batch.add(lineNumber, productReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                productImport.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            batch = flushIfFull(batch, queue, writer);
+        }
+        enqueue(batch, queue, writer);
+    }
+
+    // BufferedReader.readLine with a bound, so an upload without line breaks is not read into one string
+    private static String readLine(BufferedReader reader, int maxLength, long lineNumber) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (line.length() == maxLength) {
+                throw new IllegalArgumentException("Line " + lineNumber + " is longer than " + maxLength + " characters");
+            }
+            line.append((char) c);
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    private Batch flushIfFull(Batch batch, BlockingQueue<Batch> queue, Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        if (batch.products.size() < importProperties.getBatchSize()) {
+            return batch;
+        }
+        enqueue(batch, queue, writer);
+        return new Batch(importProperties.getBatchSize());
+    }
+
+    // Blocks while the queue is full, which is what holds the parser back; gives up if the writer has died
+    private void enqueue(Batch batch, BlockingQueue<Batch> queue, Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        if (batch != Batch.END && batch.products.isEmpty()) {
+            return;
+        }
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+                throw new IllegalStateException("Import writer stopped unexpectedly");
+            }
+        }
+    }
+
+    private void write(BlockingQueue<Batch> queue, ProductImport productImport) {
+        try {
+            Batch batch;
+            while ((batch = queue.take()) != Batch.END) {
+                List<BatchItemResultDTO> results = productBatchService.upsertProducts(batch.products);
+                long written = 0;
+                for (BatchItemResultDTO result : results) {
+                    if (result.getStatus() == BatchItemResultDTO.Status.CREATED || result.getStatus() == BatchItemResultDTO.Status.UPDATED) {
+                        written++;
+                    } else {
+                        productImport.reject(batch.lines.get(result.getIndex()), result.getMessage());
+                    }
+                }
+                productImport.written(written);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void pruneFinished() {
+        List<ProductImport> finished = imports.values().stream()
+                .filter(productImport -> productImport.state != ImportStatusDTO.State.RUNNING)
+                .sorted(Comparator.comparingLong(productImport -> productImport.position))
+                .toList();
+        for (int i = 0; i < finished.size() - importProperties.getRetainedImports(); i++) {
+            imports.remove(finished.get(i).id);
+        }
+    }
+
+    private static String column(List<String> record, int column) {
+        return column < 0 || column >= record.size() ? null : record.get(column).trim();
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isEmpty() || value.equals("null")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a whole number: " + value);
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        if (value == null || value.isEmpty() || value.equals("null")) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    /** Parsed rows on their way to the writer, with the line each started on. */
+    private static final class Batch {
+
+        static final Batch END = new Batch(0);
+
+        final List<ProductDTO> products;
+        final List<Long> lines;
+
+        Batch(int size) {
+            products = new ArrayList<>(size);
+            lines = new ArrayList<>(size);
+        }
+
+        void add(long line, ProductDTO productDTO) {
+            lines.add(line);
+            products.add(productDTO);
+        }
+    }
+
+    /** Live progress of one import, updated by its parser and writer threads. */
+    private static final class ProductImport {
+
+        final String id;
+        // Registration order, for listing newest first and pruning oldest first
+        final long position;
+        final ExportFormat format;
+        final int maxRejectionsReported;
+        final Instant startedAt = Instant.now();
+        final long startedNanos = System.nanoTime();
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong rowsWritten = new AtomicLong();
+        final AtomicLong rowsRejected = new AtomicLong();
+        final List<ImportRejectionDTO> rejections = new ArrayList<>();
+
+        volatile ImportStatusDTO.State state = ImportStatusDTO.State.RUNNING;
+        volatile Instant finishedAt;
+        volatile String message;
+
+        // Processed rows and time at the last two batch completions, for the current rate
+        private long previousProcessed;
+        private long previousNanos;
+        private long lastProcessed;
+        private long lastNanos;
+
+        ProductImport(String id, long position, ExportFormat format, int maxRejectionsReported) {
+            this.id = id;
+            this.position = position;
+            this.format = format;
+            this.maxRejectionsReported = maxRejectionsReported;
+            this.previousNanos = startedNanos;
+            this.lastNanos = startedNanos;
+        }
+
+        void reject(long line, String reason) {
+            rowsRejected.incrementAndGet();
+            synchronized (this) {
+                if (rejections.size() < maxRejectionsReported) {
+                    rejections.add(new ImportRejectionDTO(line, reason));
+                }
+            }
+        }
+
+        synchronized void written(long rows) {
+            rowsWritten.addAndGet(rows);
+            previousProcessed = lastProcessed;
+            previousNanos = lastNanos;
+            lastProcessed = rowsWritten.get() + rowsRejected.get();
+            lastNanos = System.nanoTime();
+        }
+
+        void finish(ImportStatusDTO.State finalState, String failure) {
+            message = failure;
+            finishedAt = Instant.now();
+            state = finalState;
+        }
+
+        synchronized ImportStatusDTO toDTO() {
+            long processed = rowsWritten.get() + rowsRejected.get();
+            double rate;
+            if (state == ImportStatusDTO.State.RUNNING) {
+                rate = perSecond(lastProcessed - previousProcessed, lastNanos - previousNanos);
+            } else {
+                rate = perSecond(processed, Duration.between(startedAt, finishedAt).toNanos());
+            }
+            return new ImportStatusDTO(id, format.name().toLowerCase(), state, rowsRead.get(), rowsWritten.get(),
+                    rowsRejected.get(), rate, startedAt, finishedAt, message, List.copyOf(rejections));
+        }
+
+        private static double perSecond(long rows, long nanos) {
+            return nanos <= 0 ? 0.0 : rows * 1e9 / nanos;
+        }
+    }
+}
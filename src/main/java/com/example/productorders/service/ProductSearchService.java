@@ -0,0 +1,270 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.ProductSearchHitDTO;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.repository.ProductRepository;
+import com.example.productorders.util.LongPostings;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product names, mapping each lower-cased letter/digit token to a
+ * {@link LongPostings} list of product ids.
+ *
+ * <p>The index is loaded from the database before the application starts serving and is then kept current by
+ * {@link ProductService} and {@link ProductBatchService} after each successful write. A query matches products
+ * containing every query token; in {@link SearchMode#PREFIX} mode the last token matches any indexed token it
+ * starts. Matches are ranked by how much of the name the query covers, counting prefix matches half, then by id.
+ * To bound the cost of very broad queries, only the first {@value #MAX_SCORED_CANDIDATES} matching ids are
+ * ranked and a prefix expands to at most {@value #MAX_PREFIX_EXPANSIONS} tokens.
+ */
+@Service
+@Slf4j
+public class ProductSearchService {
+
+    static final int MAX_SCORED_CANDIDATES = 10_000;
+    static final int MAX_PREFIX_EXPANSIONS = 512;
+
+    private static final Comparator<ProductSearchHitDTO> RANKING = Comparator
+            .comparingDouble(ProductSearchHitDTO::getScore).reversed()
+            .thenComparing(ProductSearchHitDTO::getId);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PaginationProperties paginationProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, LongPostings> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    @Autowired
+    public ProductSearchService(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                                PaginationProperties paginationProperties) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.paginationProperties = paginationProperties;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        log.info("rebuild in ProductSearchService");
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            transactionTemplate.executeWithoutResult(status -> productRepository.streamAllProductDTOs()
+                    .forEach(product -> add(product.getId(), product.getName())));
+            log.info("Indexed {} products under {} tokens", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds the product, or replaces what was indexed for it before. */
+    public void index(Long id, String name) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            add(id, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ProductSearchHitDTO> search(String query, SearchMode mode, Integer limit) {
+        log.debug("search in ProductSearchService");
+
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0) {
+            throw new IllegalArgumentException("Search query must contain letters or digits");
+        }
+        int size = paginationProperties.resolveSize(limit);
+
+        lock.readLock().lock();
+        try {
+            LongPostings candidates = null;
+            for (int i = 0; i < queryTokens.length; i++) {
+                boolean prefix = mode == SearchMode.PREFIX && i == queryTokens.length - 1;
+                if (prefix && candidates != null) {
+                    // The earlier tokens already narrowed the set; checking those names is cheaper than expanding
+                    candidates = filterByPrefix(candidates, queryTokens[i]);
+                    break;
+                }
+                LongPostings matches = prefix
+                        ? expandPrefix(queryTokens[i], queryTokens.length == 1)
+                        : postings.get(queryTokens[i]);
+                if (matches == null || matches.isEmpty()) {
+                    return List.of();
+                }
+                candidates = candidates == null ? matches : candidates.intersect(matches);
+            }
+            return rank(candidates, queryTokens, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private LongPostings expandPrefix(String prefix, boolean onlyToken) {
+        NavigableMap<String, LongPostings> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.size() == 1) {
+            return range.firstEntry().getValue();
+        }
+
+        long[] ids = new long[64];
+        int length = 0;
+        int expanded = 0;
+        for (LongPostings tokenPostings : range.values()) {
+            if (expanded++ == MAX_PREFIX_EXPANSIONS || (onlyToken && length >= MAX_SCORED_CANDIDATES)) {
+                break;
+            }
+            if (length + tokenPostings.size() > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, length + tokenPostings.size()));
+            }
+            for (int i = 0; i < tokenPostings.size(); i++) {
+                ids[length++] = tokenPostings.get(i);
+            }
+        }
+        return LongPostings.of(ids, length);
+    }
+
+    private LongPostings filterByPrefix(LongPostings candidates, String prefix) {
+        long[] ids = new long[candidates.size()];
+        int length = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            for (String token : documents.get(candidates.get(i)).tokens()) {
+                if (token.startsWith(prefix)) {
+                    ids[length++] = candidates.get(i);
+                    break;
+                }
+            }
+        }
+        return LongPostings.of(ids, length);
+    }
+
+    private List<ProductSearchHitDTO> rank(LongPostings candidates, String[] queryTokens, int size) {
+        PriorityQueue<ProductSearchHitDTO> top = new PriorityQueue<>(size + 1, RANKING.reversed());
+        int scored = Math.min(candidates.size(), MAX_SCORED_CANDIDATES);
+        for (int i = 0; i < scored; i++) {
+            long id = candidates.get(i);
+            Document document = documents.get(id);
+
+            int exact = 0;
+            for (String queryToken : queryTokens) {
+                for (String token : document.tokens()) {
+                    if (token.equals(queryToken)) {
+                        exact++;
+                        break;
+                    }
+                }
+            }
+            double score = (exact + 0.5 * (queryTokens.length - exact)) / document.tokens().length;
+
+            top.add(new ProductSearchHitDTO(id, document.name(), score));
+            if (top.size() > size) {
+                top.poll();
+            }
+        }
+
+        List<ProductSearchHitDTO> hits = new ArrayList<>(top);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private void add(Long id, String name) {
+        String[] tokens = tokenize(name);
+        if (tokens.length == 0) {
+            return;
+        }
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            Map.Entry<String, LongPostings> entry = postings.ceilingEntry(token);
+            if (entry != null && entry.getKey().equals(token)) {
+                // Share the dictionary's String so documents do not hold a copy per product
+                tokens[i] = entry.getKey();
+                entry.getValue().add(id);
+            } else {
+                LongPostings tokenPostings = new LongPostings();
+                tokenPostings.add(id);
+                postings.put(token, tokenPostings);
+            }
+        }
+        documents.put(id, new Document(name, tokens));
+    }
+
+    private void removeDocument(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            LongPostings tokenPostings = postings.get(token);
+            if (tokenPostings != null && tokenPostings.remove(id) && tokenPostings.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /** Lower-cased runs of letters and digits, without duplicates, in order of first appearance. */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private record Document(String name, String[] tokens) {
+    }
+}
@@ -1,14 +1,33 @@
 package com.example.productorders.service;
 
+import com.example.productorders.DTO.MultiGetDTO;
+import com.example.productorders.DTO.PageDTO;
 import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.DTO.ProductStockDTO;
 import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.exception.InsufficientStockException;
+import com.example.productorders.logging.LogSampling;
 import com.example.productorders.model.Product;
 import com.example.productorders.model.Supplier;
 import com.example.productorders.repository.ProductRepository;
+import com.example.productorders.repository.ProductSort;
 import com.example.productorders.repository.SupplierRepository;
+import com.example.productorders.util.CachedLookup;
+import com.example.productorders.util.KeysetCursor;
+import com.example.productorders.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -20,15 +39,29 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final SupplierRepository supplierRepository;
+    private final PaginationProperties paginationProperties;
+    private final ProductSearchService productSearchService;
+    private final CatalogVersions catalogVersions;
+    private final CacheManager cacheManager;
+    private final SingleFlight<Long, ProductDTO> productFlight;
+    private final SingleFlight<Long, ProductSupplierDTO> productSupplierFlight;
 
     @Autowired
-    public ProductService(ProductRepository productRepository, SupplierRepository supplierRepository) {
+    public ProductService(ProductRepository productRepository, SupplierRepository supplierRepository, PaginationProperties paginationProperties,
+                          ProductSearchService productSearchService, CatalogVersions catalogVersions, CacheManager cacheManager,
+                          MeterRegistry meterRegistry) {
         this.productRepository = productRepository;
         this.supplierRepository=supplierRepository;
+        this.paginationProperties = paginationProperties;
+        this.productSearchService = productSearchService;
+        this.catalogVersions = catalogVersions;
+        this.cacheManager = cacheManager;
+        this.productFlight = new SingleFlight<>("getProductById", meterRegistry);
+        this.productSupplierFlight = new SingleFlight<>("getProductSupplier", meterRegistry);
     }
 
     public ProductDTO fromEntityToDTO(Product product) {
-        log.info("fromEntityToDTO in ProductService");
+        log.debug(LogSampling.SAMPLED, "fromEntityToDTO in ProductService");
 
         if (product == null) {
             throw new IllegalArgumentException("Product cannot be null");
@@ -45,13 +78,18 @@ public class ProductService {
         productDTO.setPrice(product.getPrice());
         productDTO.setStock(product.getStock());
         productDTO.setSupplierId(product.getSupplier().getId());
+        productDTO.setVersion(product.getVersion());
 
         return productDTO;
 
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productDTO.id", condition = "#productDTO?.id != null"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, key = "#productDTO.id", condition = "#productDTO?.id != null")
+    })
     public Product fromDTOToEntity(ProductDTO productDTO) {
-        log.info("fromDTOtoEntity in ProductService");
+        log.debug("fromDTOtoEntity in ProductService");
 
         if (productDTO == null) {
             throw new IllegalArgumentException("ProductDTO cannot be null");
@@ -61,19 +99,22 @@ public class ProductService {
             throw new IllegalStateException("ProductDTO has no associated supplier Id");
         }
 
-        Product product;
+        Product product = null;
         if(productDTO.getId() != null) {
-            product = productRepository.findById(productDTO.getId()).orElse(new Product());
-        }
-        else {
-            product = new Product();
+            product = productRepository.findById(productDTO.getId()).orElse(null);
         }
 
         Supplier s = supplierRepository.findById(productDTO.getSupplierId()).orElseThrow(()-> new EntityNotFoundException(
                 "Supplier not found with id " + productDTO.getSupplierId()
         ));
 
-        product.setId(productDTO.getId());
+        if (product == null) {
+            // An unknown id is a create. Spring Data tells new from existing by the null @Version, so a fresh entity
+            // carrying the DTO's id would be persisted as if new and fail as detached
+            product = new Product();
+        } else {
+            product.setId(productDTO.getId());
+        }
         product.setName(productDTO.getName());
         product.setPrice(productDTO.getPrice());
         product.setStock(productDTO.getStock());
@@ -85,7 +126,7 @@ public class ProductService {
 
     }
 
-    private List<ProductDTO> fromEntityToDTOList(List<Product> products) {
+    public List<ProductDTO> fromEntityToDTOList(List<Product> products) {
         List<ProductDTO> productDTOS = new ArrayList<>();
         for(Product p: products) {
             productDTOS.add(fromEntityToDTO(p));
@@ -95,26 +136,45 @@ public class ProductService {
 
     public Product saveEntity(Product product) {
 
-        log.info("saveEntity in ProductService");
+        log.debug("saveEntity in ProductService");
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchService.index(product.getId(), product.getName());
+        catalogVersions.productsChanged();
+        return saved;
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductDTO getProductById(Long id) {
 
-        log.info("getProductById in ProductService");
+        log.debug("getProductById in ProductService");
 
         if (id < 0) {
             throw new IllegalArgumentException("Id cannot be negative");
         }
 
-        Product product = productRepository.findById(id).orElseThrow(()-> new EntityNotFoundException("Cannot find product with id " + id));
-        return fromEntityToDTO(product);
+        // Cache misses for a hot id share one database load
+        return productFlight.load(id, () -> {
+            Product product = productRepository.findById(id).orElseThrow(()-> new EntityNotFoundException("Cannot find product with id " + id));
+            return fromEntityToDTO(product);
+        });
+    }
+
+    /**
+     * Products for many ids at once, in request order with duplicates dropped. Ids already in the products cache
+     * are answered from it; the rest are loaded with one query and cached.
+     */
+    public MultiGetDTO<ProductDTO> getProductsByIds(List<Long> ids) {
+
+        log.debug("getProductsByIds in ProductService");
+
+        return CachedLookup.getAll(paginationProperties.resolveIds(ids), cacheManager.getCache(CacheConfig.PRODUCTS),
+                ProductDTO.class, productRepository::findProductDTOsByIds, ProductDTO::getId);
     }
 
     public ProductDTO saveProduct(ProductDTO productDTO) {
 
-        log.info("saveProduct in ProductService");
+        log.debug("saveProduct in ProductService");
 
         if (productDTO == null) {
             throw new IllegalArgumentException("ProductDTO cannot be null");
@@ -129,24 +189,31 @@ public class ProductService {
         product.setPrice(productDTO.getPrice());
         product.setSupplier(supplier);
 
-        saveEntity(product);
-
-        return fromEntityToDTO(product);
+        // The saved instance carries the version assigned on flush
+        return fromEntityToDTO(saveEntity(product));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, key = "#id")
+    })
     public void deleteProduct(Long id) {
 
-        log.info("deleteProduct in ProductService");
+        log.debug("deleteProduct in ProductService");
 
-        if(!productRepository.existsById(id)) {
+        if(productRepository.deleteProductById(id) == 0) {
             throw new EntityNotFoundException("Id does not exist");
         }
-
-        productRepository.deleteById(id);
+        productSearchService.remove(id);
+        catalogVersions.productsChanged();
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, key = "#id")
+    )
     public ProductDTO updateProduct(ProductDTO productDTO, Long id) {
-        log.info("updateProduct in ProductService");
+        log.debug("updateProduct in ProductService");
         Product product = productRepository.findById(id).orElseThrow(()-> new EntityNotFoundException("Cannot find product with id " + id));
         Supplier supplier = supplierRepository.findById(productDTO.getSupplierId()).orElseThrow(()-> new EntityNotFoundException("Cannot find supplier with id " + productDTO.getSupplierId()));
 
@@ -155,26 +222,106 @@ public class ProductService {
         product.setPrice(productDTO.getPrice());
         product.setSupplier(supplier);
 
-        saveEntity(product);
-        return fromEntityToDTO(product);
+        return fromEntityToDTO(saveEntity(product));
     }
 
     public List<ProductDTO> getProducts() {
-        List<Product> products = productRepository.findAll();
-        return fromEntityToDTOList(products);
+        return productRepository.findAllProductDTOs();
     }
 
-    public ProductSupplierDTO getProductSupplier(Long id) {
+    public PageDTO<ProductDTO> getProductPage(String cursor, Integer size) {
+        log.debug("getProductPage in ProductService");
 
-        if(!productRepository.existsById(id)) {
-            throw new EntityNotFoundException("Id does not exist");
+        int pageSize = paginationProperties.resolveSize(size);
+        long afterId = cursor == null ? 0L : KeysetCursor.decode(cursor);
+
+        // Fetch one extra row so we know whether another page exists without a count query
+        List<ProductDTO> products = productRepository.findProductDTOsAfter(afterId, Limit.of(pageSize + 1));
+
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            nextCursor = KeysetCursor.encode(products.get(pageSize - 1).getId());
         }
+        return new PageDTO<>(products, nextCursor);
+    }
+
+    public PageDTO<ProductDTO> getFilteredProductPage(ProductFilterDTO filter, ProductSort sort, String cursor, Integer size) {
+        log.debug("getFilteredProductPage in ProductService");
 
-        Product product=productRepository.findProductWithSupplier(id);
+        filter.validate();
+        int pageSize = paginationProperties.resolveSize(size);
 
-         return new ProductSupplierDTO(product.getName(), product.getPrice(), product.getStock(),product.getSupplier().getName(), product.getSupplier().getPhoneNum(),product.getSupplier().getEmail());
+        KeysetCursor.Position after = null;
+        if (cursor != null) {
+            after = sort.getAttribute() == null
+                    ? new KeysetCursor.Position(0, KeysetCursor.decode(cursor))
+                    : KeysetCursor.decode(cursor, sort.getParameter());
+        }
 
+        List<ProductDTO> products = productRepository.findProductDTOs(filter, sort, after, pageSize + 1);
+
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            ProductDTO last = products.get(pageSize - 1);
+            nextCursor = switch (sort) {
+                case ID -> KeysetCursor.encode(last.getId());
+                case PRICE, PRICE_DESC -> KeysetCursor.encode(sort.getParameter(), last.getPrice(), last.getId());
+                case STOCK, STOCK_DESC -> KeysetCursor.encode(sort.getParameter(), last.getStock(), last.getId());
+            };
+        }
+        return new PageDTO<>(products, nextCursor);
     }
 
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, key = "#id")
+    public ProductSupplierDTO getProductSupplier(Long id) {
 
+        return productSupplierFlight.load(id, () -> productRepository.findProductSupplierDTO(id)
+                .orElseThrow(()-> new EntityNotFoundException("Id does not exist")));
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, key = "#id")
+    })
+    public ProductStockDTO reserveStock(Long id, Double quantity) {
+        log.debug("reserveStock in ProductService");
+        validateQuantity(quantity);
+
+        return productRepository.reserveStock(id, quantity)
+                .map(stock -> {
+                    catalogVersions.productsChanged();
+                    return new ProductStockDTO(id, stock);
+                })
+                .orElseThrow(() -> {
+                    // Only the failure path pays for telling "missing" apart from "not enough stock"
+                    if (!productRepository.existsById(id)) {
+                        return new EntityNotFoundException("Cannot find product with id " + id);
+                    }
+                    return new InsufficientStockException(id, quantity);
+                });
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, key = "#id")
+    })
+    public ProductStockDTO releaseStock(Long id, Double quantity) {
+        log.debug("releaseStock in ProductService");
+        validateQuantity(quantity);
+
+        return productRepository.releaseStock(id, quantity)
+                .map(stock -> {
+                    catalogVersions.productsChanged();
+                    return new ProductStockDTO(id, stock);
+                })
+                .orElseThrow(() -> new EntityNotFoundException("Cannot find product with id " + id));
+    }
+
+    private void validateQuantity(Double quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.repository.ReactiveProductRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Slf4j
+public class ReactiveProductService {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+
+    @Autowired
+    public ReactiveProductService(ReactiveProductRepository reactiveProductRepository) {
+        this.reactiveProductRepository = reactiveProductRepository;
+    }
+
+    public Flux<ProductDTO> getProducts() {
+        log.debug("getProducts in ReactiveProductService");
+        return reactiveProductRepository.findAll();
+    }
+
+    public Mono<ProductDTO> getProductById(Long id) {
+        log.debug("getProductById in ReactiveProductService");
+        return reactiveProductRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Cannot find product with id " + id)));
+    }
+
+    public Mono<ProductSupplierDTO> getProductSupplier(Long id) {
+        log.debug("getProductSupplier in ReactiveProductService");
+        return reactiveProductRepository.findProductSupplier(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Id does not exist")));
+    }
+}
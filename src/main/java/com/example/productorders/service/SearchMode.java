@@ -0,0 +1,18 @@
+package com.example.productorders.service;
+
+public enum SearchMode {
+
+    /** Every query token must match a whole token of the name. */
+    FULL,
+    /** Like FULL, but the last query token only has to be the start of a token, for autocomplete. */
+    PREFIX;
+
+    public static SearchMode fromParameter(String mode) {
+        for (SearchMode value : values()) {
+            if (value.name().equalsIgnoreCase(mode)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported search mode " + mode);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.productorders.service;
+
+/** What deleting a supplier does with its products. */
+public enum SupplierDeletion {
+
+    /** Delete the supplier only if it has no products. */
+    REJECT,
+    /** Delete its products first; refused while any of them is on an order. */
+    CASCADE,
+    /** Move its products to another supplier first. */
+    REASSIGN;
+
+    public static SupplierDeletion fromParameter(String strategy) {
+        for (SupplierDeletion value : values()) {
+            if (value.name().equalsIgnoreCase(strategy)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported deletion strategy " + strategy);
+    }
+}
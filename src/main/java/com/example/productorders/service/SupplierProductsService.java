@@ -0,0 +1,177 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.BulkUpdateResultDTO;
+import com.example.productorders.DTO.PriceAdjustmentDTO;
+import com.example.productorders.DTO.StockLevelDTO;
+import com.example.productorders.config.BulkWriteProperties;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.exception.SupplierInUseException;
+import com.example.productorders.repository.IdRange;
+import com.example.productorders.repository.OrderRepository;
+import com.example.productorders.repository.ProductRepository;
+import com.example.productorders.repository.SupplierRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Changes, moves or deletes all products of a supplier at once with set-based statements instead of a read and
+ * write per product.
+ * The supplier's id range is split into windows holding about {@link BulkWriteProperties#getChunkSize()} of its
+ * products, each written in its own short transaction, so a large supplier never holds its rows locked for the
+ * whole run. Products added while a run is in progress may be missed by it.
+ */
+@Service
+@Slf4j
+public class SupplierProductsService {
+
+    private final ProductRepository productRepository;
+    private final SupplierRepository supplierRepository;
+    private final OrderRepository orderRepository;
+    private final BulkWriteProperties bulkWriteProperties;
+    private final CacheManager cacheManager;
+    private final ProductSearchService productSearchService;
+    private final CatalogVersions catalogVersions;
+
+    @Autowired
+    public SupplierProductsService(ProductRepository productRepository, SupplierRepository supplierRepository,
+                                   OrderRepository orderRepository, BulkWriteProperties bulkWriteProperties,
+                                   CacheManager cacheManager, ProductSearchService productSearchService,
+                                   CatalogVersions catalogVersions) {
+        this.productRepository = productRepository;
+        this.supplierRepository = supplierRepository;
+        this.orderRepository = orderRepository;
+        this.bulkWriteProperties = bulkWriteProperties;
+        this.cacheManager = cacheManager;
+        this.productSearchService = productSearchService;
+        this.catalogVersions = catalogVersions;
+    }
+
+    /** Moves every price by a percentage, rounded to cents, or sets them all to one price. */
+    public BulkUpdateResultDTO adjustPrices(Long supplierId, PriceAdjustmentDTO adjustment) {
+        log.debug("adjustPrices in SupplierProductsService");
+
+        if (adjustment == null || (adjustment.getPercent() == null) == (adjustment.getPrice() == null)) {
+            throw new IllegalArgumentException("Give either a percent or a price");
+        }
+        if (adjustment.getPrice() != null) {
+            double price = adjustment.getPrice();
+            if (price < 0) {
+                throw new IllegalArgumentException("Price cannot be negative");
+            }
+            long updated = update(supplierId, (fromId, toId) -> productRepository.setSupplierPrices(supplierId, price, fromId, toId));
+            return new BulkUpdateResultDTO(supplierId, updated);
+        }
+
+        if (adjustment.getPercent() <= -100) {
+            throw new IllegalArgumentException("Percent must be greater than -100");
+        }
+        double factor = 1 + adjustment.getPercent() / 100;
+        long updated = update(supplierId, (fromId, toId) -> productRepository.scaleSupplierPrices(supplierId, factor, fromId, toId));
+        return new BulkUpdateResultDTO(supplierId, updated);
+    }
+
+    public BulkUpdateResultDTO setStock(Long supplierId, StockLevelDTO stockLevel) {
+        log.debug("setStock in SupplierProductsService");
+
+        if (stockLevel == null || stockLevel.getStock() == null || stockLevel.getStock() < 0) {
+            throw new IllegalArgumentException("Stock must be zero or more");
+        }
+        double stock = stockLevel.getStock();
+        long updated = update(supplierId, (fromId, toId) -> productRepository.setSupplierStock(supplierId, stock, fromId, toId));
+        return new BulkUpdateResultDTO(supplierId, updated);
+    }
+
+    /** Moves every product to another supplier and returns how many were moved. */
+    public long reassignProducts(Long supplierId, Long targetId) {
+        log.debug("reassignProducts in SupplierProductsService");
+
+        if (targetId == null || targetId.equals(supplierId)) {
+            throw new IllegalArgumentException("Products must be reassigned to another supplier");
+        }
+        if (!supplierRepository.existsById(targetId)) {
+            throw new EntityNotFoundException("Cannot find supplier with id " + targetId);
+        }
+        return update(supplierId, (fromId, toId) -> productRepository.reassignSupplierProducts(supplierId, targetId, fromId, toId));
+    }
+
+    public boolean hasProducts(Long supplierId) {
+        return productRepository.existsBySupplierId(supplierId);
+    }
+
+    /**
+     * Deletes every product and returns how many were deleted. Refused up front while any of them is on an order,
+     * since that would otherwise only show when the window holding it fails, after the earlier ones were committed.
+     */
+    public long deleteProducts(Long supplierId) {
+        log.debug("deleteProducts in SupplierProductsService");
+
+        if (supplierId != null && orderRepository.existsLineForSupplier(supplierId)) {
+            throw new SupplierInUseException(supplierId, "some of its products are on orders");
+        }
+        return update(supplierId, (fromId, toId) -> {
+            List<Long> ids = productRepository.deleteSupplierProducts(supplierId, fromId, toId);
+            ids.forEach(productSearchService::remove);
+            return ids;
+        });
+    }
+
+    private long update(Long supplierId, IdWindowUpdate windowUpdate) {
+        if (supplierId == null || supplierId < 0) {
+            throw new IllegalArgumentException("Id cannot be negative");
+        }
+        if (!supplierRepository.existsById(supplierId)) {
+            throw new EntityNotFoundException("Cannot find supplier with id " + supplierId);
+        }
+
+        IdRange range = productRepository.findIdRangeBySupplierId(supplierId);
+        if (range.isEmpty()) {
+            return 0;
+        }
+
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Cache productSuppliers = cacheManager.getCache(CacheConfig.PRODUCT_SUPPLIERS);
+        long width = windowWidth(range);
+        long updated = 0;
+        try {
+            for (long fromId = range.minId(); fromId <= range.maxId(); fromId += width) {
+                long toId = range.maxId() - fromId < width ? range.maxId() : fromId + width - 1;
+                List<Long> ids = windowUpdate.apply(fromId, toId);
+                for (Long id : ids) {
+                    products.evict(id);
+                    productSuppliers.evict(id);
+                }
+                updated += ids.size();
+                if (toId == range.maxId()) {
+                    break;
+                }
+            }
+        } finally {
+            // Committed windows stay committed if a later one fails, so readers must see them either way
+            if (updated > 0) {
+                catalogVersions.productsChanged();
+            }
+        }
+        return updated;
+    }
+
+    // Wide enough to hold about one chunk of the supplier's products if they are spread evenly over its range
+    private long windowWidth(IdRange range) {
+        long chunkSize = bulkWriteProperties.getChunkSize();
+        long span = range.maxId() - range.minId() + 1;
+        if (range.count() <= chunkSize) {
+            return span;
+        }
+        return Math.max(chunkSize, (long) Math.ceil((double) span / range.count() * chunkSize));
+    }
+
+    @FunctionalInterface
+    private interface IdWindowUpdate {
+        List<Long> apply(Long fromId, Long toId);
+    }
+}
@@ -1,11 +1,28 @@
 package com.example.productorders.service;
 
+import com.example.productorders.DTO.MultiGetDTO;
+import com.example.productorders.DTO.PageDTO;
 import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.config.InventoryProperties;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.exception.SupplierInUseException;
+import com.example.productorders.logging.LogSampling;
 import com.example.productorders.model.Supplier;
 import com.example.productorders.repository.SupplierRepository;
+import com.example.productorders.util.CachedLookup;
+import com.example.productorders.util.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -16,14 +33,26 @@ import java.util.List;
 public class SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final PaginationProperties paginationProperties;
+    private final InventoryProperties inventoryProperties;
+    private final CatalogVersions catalogVersions;
+    private final CacheManager cacheManager;
+    private final SupplierProductsService supplierProductsService;
 
     @Autowired
-    public SupplierService(SupplierRepository supplierRepository) {
+    public SupplierService(SupplierRepository supplierRepository, PaginationProperties paginationProperties,
+                           InventoryProperties inventoryProperties, CatalogVersions catalogVersions, CacheManager cacheManager,
+                           SupplierProductsService supplierProductsService) {
         this.supplierRepository=supplierRepository;
+        this.paginationProperties = paginationProperties;
+        this.inventoryProperties = inventoryProperties;
+        this.catalogVersions = catalogVersions;
+        this.cacheManager = cacheManager;
+        this.supplierProductsService = supplierProductsService;
     }
 
     public SupplierDTO fromEntityToDTO(Supplier supplier) {
-        log.info("fromEntityToDTO in SupplierService");
+        log.debug(LogSampling.SAMPLED, "fromEntityToDTO in SupplierService");
 
         if(supplier == null) {
             throw new IllegalArgumentException("Supplier cannot be null");
@@ -35,13 +64,18 @@ public class SupplierService {
         supplierDTO.setName(supplier.getName());
         supplierDTO.setPhoneNum(supplier.getPhoneNum());
         supplierDTO.setEmail(supplier.getEmail());
+        supplierDTO.setVersion(supplier.getVersion());
 
         return supplierDTO;
 
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, key = "#supplierDTO.id", condition = "#supplierDTO?.id != null"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, allEntries = true, condition = "#supplierDTO?.id != null")
+    })
     public Supplier fromDTOTOEntity(SupplierDTO supplierDTO) {
-        log.info("fromDTOTOEntity in SupplierService");
+        log.debug("fromDTOTOEntity in SupplierService");
 
         if(supplierDTO == null) {
             throw new IllegalArgumentException("SupplierDTO cannot be null");
@@ -73,12 +107,15 @@ public class SupplierService {
     }
 
     public Supplier saveEntity(Supplier supplier) {
-        log.info("saveEntity in SupplierService");
-        return supplierRepository.save(supplier);
+        log.debug("saveEntity in SupplierService");
+        Supplier saved = supplierRepository.save(supplier);
+        catalogVersions.suppliersChanged();
+        return saved;
     }
 
+    @Cacheable(cacheNames = CacheConfig.SUPPLIERS, key = "#id")
     public SupplierDTO getSupplierById(Long id) {
-        log.info("getSupplierById in SupplierService");
+        log.debug("getSupplierById in SupplierService");
 
         if(id<0)
         {
@@ -88,49 +125,122 @@ public class SupplierService {
         return fromEntityToDTO(supplier);
     }
 
+    /** Same contract as {@link ProductService#getProductsByIds}, against the suppliers cache. */
+    public MultiGetDTO<SupplierDTO> getSuppliersByIds(List<Long> ids) {
+        log.debug("getSuppliersByIds in SupplierService");
+
+        return CachedLookup.getAll(paginationProperties.resolveIds(ids), cacheManager.getCache(CacheConfig.SUPPLIERS),
+                SupplierDTO.class, supplierRepository::findSupplierDTOsByIds, SupplierDTO::getId);
+    }
+
     public SupplierDTO saveSupplier(SupplierDTO supplierDTO) {
 
         if(supplierDTO == null) {
             throw new EntityNotFoundException("Supplier DTO cannot be null");
         }
 
-        log.info("saveSupplier in SupplierService");
+        log.debug("saveSupplier in SupplierService");
         Supplier supplier = new Supplier();
 
         supplier.setName(supplierDTO.getName());
         supplier.setPhoneNum(supplierDTO.getPhoneNum());
         supplier.setEmail(supplierDTO.getEmail());
 
-        saveEntity(supplier);
-
-        return fromEntityToDTO(supplier);
+        return fromEntityToDTO(saveEntity(supplier));
     }
 
+    // Product/supplier views are keyed by product id, so a supplier change clears them wholesale
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.SUPPLIERS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, allEntries = true)
+    )
     public SupplierDTO updateSupplier(SupplierDTO supplierDTO, Long id) {
-        log.info("updateSupplier in SupplierService");
+        log.debug("updateSupplier in SupplierService");
         Supplier supplier = supplierRepository.findById(id).orElseThrow(()-> new EntityNotFoundException("Cannot find supplier with id " + id));
 
         supplier.setName(supplierDTO.getName());
         supplier.setPhoneNum(supplierDTO.getPhoneNum());
         supplier.setEmail(supplierDTO.getEmail());
 
-        saveEntity(supplier);
-
-        return fromEntityToDTO(supplier);
+        // The saved instance carries the version assigned on flush
+        return fromEntityToDTO(saveEntity(supplier));
     }
 
-    public void deleteSupplier(Long id) {
-        log.info("deleteSupplier in SupplierService");
+    /**
+     * Deletes a supplier, first deleting or reassigning its products in chunks when asked to. A supplier that
+     * still has products when its own row is deleted, including ones added meanwhile, is refused with a conflict.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PRODUCT_SUPPLIERS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIER_SUMMARIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIER_SUMMARIES, key = "'all'")
+    })
+    public void deleteSupplier(Long id, SupplierDeletion deletion, Long reassignTo) {
+        log.debug("deleteSupplier in SupplierService");
+
+        switch (deletion) {
+            case CASCADE -> supplierProductsService.deleteProducts(id);
+            case REASSIGN -> supplierProductsService.reassignProducts(id, reassignTo);
+            // Checked up front so the usual refusal does not go through a failed statement; the foreign key still
+            // catches products added between this check and the delete, as it does after the other two strategies
+            case REJECT -> {
+                if (id != null && supplierProductsService.hasProducts(id)) {
+                    throw new SupplierInUseException(id, "it still has products");
+                }
+            }
+        }
 
-        if(!supplierRepository.existsById(id)) {
+        int deleted;
+        try {
+            deleted = supplierRepository.deleteSupplierById(id);
+        } catch (DataIntegrityViolationException e) {
+            throw new SupplierInUseException(id, "it still has products");
+        }
+        if(deleted == 0) {
             throw new EntityNotFoundException("Id does not exist");
         }
-
-        supplierRepository.deleteById(id);
+        catalogVersions.suppliersChanged();
     }
 
     public List<SupplierDTO> getSuppliers() {
         List<Supplier> suppliers= supplierRepository.findAll();
         return fromEntityToDTOList(suppliers);
     }
+
+    public PageDTO<SupplierDTO> getSupplierPage(String cursor, Integer size) {
+        log.debug("getSupplierPage in SupplierService");
+
+        int pageSize = paginationProperties.resolveSize(size);
+        long afterId = cursor == null ? 0L : KeysetCursor.decode(cursor);
+
+        List<Supplier> suppliers = supplierRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+
+        String nextCursor = null;
+        if (suppliers.size() > pageSize) {
+            suppliers = suppliers.subList(0, pageSize);
+            nextCursor = KeysetCursor.encode(suppliers.get(pageSize - 1).getId());
+        }
+        return new PageDTO<>(fromEntityToDTOList(suppliers), nextCursor);
+    }
+
+    // Computed by one grouped query and cached briefly (see CacheConfig.SUPPLIER_SUMMARIES); sync makes
+    // concurrent pollers share a single recomputation when the entry expires
+    @Cacheable(cacheNames = CacheConfig.SUPPLIER_SUMMARIES, key = "'all'", sync = true)
+    public List<SupplierSummaryDTO> getSupplierSummaries() {
+        log.debug("getSupplierSummaries in SupplierService");
+        return supplierRepository.findSupplierSummaries(inventoryProperties.getLowStockThreshold());
+    }
+
+    @Cacheable(cacheNames = CacheConfig.SUPPLIER_SUMMARIES, key = "#id", sync = true)
+    public SupplierSummaryDTO getSupplierSummary(Long id) {
+        log.debug("getSupplierSummary in SupplierService");
+
+        if(id<0)
+        {
+            throw new IllegalArgumentException("Supplier Id cannot be negative");
+        }
+        return supplierRepository.findSupplierSummary(id, inventoryProperties.getLowStockThreshold())
+                .orElseThrow(()-> new EntityNotFoundException("Cannot find supplier with id " + id));
+    }
 }
@@ -0,0 +1,54 @@
+package com.example.productorders.util;
+
+import com.example.productorders.DTO.MultiGetDTO;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves a list of ids against a cache first and loads only the misses, with a single call to the loader.
+ * Loaded values are added to the cache unless a value for the id has appeared there meanwhile.
+ */
+public final class CachedLookup {
+
+    private CachedLookup() {
+    }
+
+    public static <T> MultiGetDTO<T> getAll(Collection<Long> ids, Cache cache, Class<T> type,
+                                            Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Map<Long, T> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            T cached = cache.get(id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (T loaded : loader.apply(misses)) {
+                found.put(idOf.apply(loaded), loaded);
+                cache.putIfAbsent(idOf.apply(loaded), loaded);
+            }
+        }
+
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetDTO<>(items, missingIds);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.productorders.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors handed out by the keyset-paginated list endpoints.
+ * A cursor wraps the id of the last row of the previous page, plus the sort value of that row when the list is
+ * ordered by something other than id; clients must treat it as opaque.
+ */
+public final class KeysetCursor {
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    /** A cursor for a list ordered by {@code sortKey} then id. */
+    public static String encode(String sortKey, double lastValue, long lastId) {
+        byte[] raw = (sortKey + ":" + lastValue + ":" + PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /** Decodes a cursor made by {@link #encode(String, double, long)}, rejecting cursors issued for another sort. */
+    public static Position decode(String cursor, String sortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String expectedStart = sortKey + ":";
+            int idStart = raw.lastIndexOf(":" + PREFIX);
+            if (!raw.startsWith(expectedStart) || idStart < expectedStart.length()) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            double value = Double.parseDouble(raw.substring(expectedStart.length(), idStart));
+            long id = Long.parseLong(raw.substring(idStart + 1 + PREFIX.length()));
+            return new Position(value, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public record Position(double value, long id) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.productorders.util;
+
+import java.util.Arrays;
+
+/**
+ * A sorted, duplicate-free list of {@code long} ids backed by a primitive array.
+ * Appending an id larger than the current maximum is amortised O(1), which is the common case since ids come
+ * from a sequence; other inserts and removals shift the tail. Not thread-safe.
+ */
+public final class LongPostings {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] ids;
+    private int size;
+
+    public LongPostings() {
+        this.ids = new long[4];
+    }
+
+    private LongPostings(long[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /** Builds postings from arbitrary ids, sorting and de-duplicating them. The array is taken over. */
+    public static LongPostings of(long[] ids, int length) {
+        Arrays.sort(ids, 0, length);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size == 0 || ids[size - 1] != ids[i]) {
+                ids[size++] = ids[i];
+            }
+        }
+        return new LongPostings(ids, size);
+    }
+
+    public boolean add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return false;
+            }
+            insertAt(-index - 1, id);
+            return true;
+        }
+        insertAt(size, id);
+        return true;
+    }
+
+    public boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public long get(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Ids present in both lists, walking the smaller one and probing the larger. */
+    public LongPostings intersect(LongPostings other) {
+        LongPostings small = size <= other.size ? this : other;
+        LongPostings large = small == this ? other : this;
+        if (small.size == 0) {
+            return new LongPostings(EMPTY, 0);
+        }
+
+        long[] result = new long[small.size];
+        int count = 0;
+        int from = 0;
+        for (int i = 0; i < small.size && from < large.size; i++) {
+            int index = Arrays.binarySearch(large.ids, from, large.size, small.ids[i]);
+            if (index >= 0) {
+                result[count++] = small.ids[i];
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return new LongPostings(result, count);
+    }
+
+    private void insertAt(int index, long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.CatalogStatsDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductFiguresDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.service.CatalogSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "app.analytics.snapshot.enabled=true",
+                "app.analytics.snapshot.refresh-interval=1h",
+                "spring.datasource.hikari.maximum-pool-size=5"
+        })
+class AnalyticsControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private String baseUrl;
+    private Long supplierId;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/analytics/products";
+        supplierId = restTemplate.postForObject("http://localhost:" + port + "/suppliers",
+                new SupplierDTO("Analytics Supplier", "908-897-0980", "supplier@email.com"), SupplierDTO.class).getId();
+        String productUrl = "http://localhost:" + port + "/products";
+        restTemplate.postForObject(productUrl, new ProductDTO("Analytics Product 1", 10.0, 4.0, supplierId), ProductDTO.class);
+        restTemplate.postForObject(productUrl, new ProductDTO("Analytics Product 2", 30.0, 20.0, supplierId), ProductDTO.class);
+        catalogSnapshotService.rebuild();
+    }
+
+    @Test
+    void testGetStats() {
+        ResponseEntity<CatalogStatsDTO> response = restTemplate.getForEntity(baseUrl + "/stats?supplierId=" + supplierId, CatalogStatsDTO.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        CatalogStatsDTO stats = response.getBody();
+        assertEquals(2L, stats.getProductCount());
+        assertEquals(1L, stats.getLowStockCount());
+        assertEquals(640.0, stats.getInventoryValue());
+        assertEquals(10.0, stats.getMinPrice());
+        assertNotNull(stats.getAsOf());
+    }
+
+    @Test
+    void testGetSupplierBreakdown() {
+        ResponseEntity<SupplierSummaryDTO[]> response = restTemplate.getForEntity(
+                baseUrl + "/suppliers?supplierId=" + supplierId + "&minPrice=20", SupplierSummaryDTO[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(new SupplierSummaryDTO[]{new SupplierSummaryDTO(supplierId, 1L, 0L, 20.0, 600.0, 30.0)}, response.getBody());
+    }
+
+    @Test
+    void testGetTop() {
+        ResponseEntity<ProductFiguresDTO[]> response = restTemplate.getForEntity(
+                baseUrl + "/top?by=price&limit=1&supplierId=" + supplierId, ProductFiguresDTO[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().length);
+        assertEquals(30.0, response.getBody()[0].getPrice());
+        assertEquals(supplierId, response.getBody()[0].getSupplierId());
+    }
+
+    @Test
+    void testRejectsInvalidRequests() {
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(baseUrl + "/stats?minStock=5&maxStock=1", String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(baseUrl + "/top?by=name", String.class).getStatusCode());
+    }
+}
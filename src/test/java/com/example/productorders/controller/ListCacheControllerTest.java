@@ -0,0 +1,122 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "app.list-cache.enabled=true",
+                "app.list-cache.gzip-min-size=1B",
+                "spring.datasource.hikari.maximum-pool-size=5"
+        })
+class ListCacheControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String baseUrl;
+    private Long supplierId;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/products";
+        supplierId = restTemplate.postForObject("http://localhost:" + port + "/suppliers",
+                new SupplierDTO("List Cache Supplier", "908-897-0980", "supplier@email.com"), SupplierDTO.class).getId();
+    }
+
+    @Test
+    void testGetProductsPicksUpWritesInTheBackground() throws InterruptedException {
+        String url = baseUrl + "?supplierId=" + supplierId;
+        assertEquals(0, restTemplate.getForObject(url, ProductDTO[].class).length);
+
+        ProductDTO saved = restTemplate.postForObject(baseUrl, new ProductDTO("Cached Lamp", 10.0, 5.0, supplierId), ProductDTO.class);
+
+        // Reads never wait for the rebuild, so poll until it lands
+        long deadline = System.currentTimeMillis() + 10_000;
+        ProductDTO[] products = restTemplate.getForObject(url, ProductDTO[].class);
+        while (products.length == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            products = restTemplate.getForObject(url, ProductDTO[].class);
+        }
+
+        assertEquals(1, products.length);
+        assertEquals(saved.getId(), products[0].getId());
+    }
+
+    @Test
+    void testGetProductsServesTheGzipCopyWhenAccepted() throws IOException {
+        restTemplate.postForObject(baseUrl, new ProductDTO("Gzip Lamp", 10.0, 5.0, supplierId), ProductDTO.class);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+        ResponseEntity<byte[]> response = restTemplate.exchange(baseUrl + "?size=3", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            ProductDTO[] products = objectMapper.readValue(gzip, ProductDTO[].class);
+            assertEquals(3, products.length);
+            assertTrue(Arrays.stream(products).allMatch(product -> product.getId() != null));
+        }
+
+        ResponseEntity<String> plain = restTemplate.getForEntity(baseUrl + "?size=3", String.class);
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNotNull(plain.getHeaders().getFirst(ProductController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetProductsTagsTheGzipCopySeparately() {
+        restTemplate.postForObject(baseUrl, new ProductDTO("Gzip Tag Lamp", 10.0, 5.0, supplierId), ProductDTO.class);
+        String url = baseUrl + "?size=2";
+        HttpHeaders gzip = new HttpHeaders();
+        gzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        String identityETag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+        String gzipETag = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(gzip), byte[].class).getHeaders().getETag();
+
+        assertNotEquals(identityETag, gzipETag);
+        assertTrue(gzipETag.endsWith("-gzip\""), gzipETag);
+        gzip.setIfNoneMatch(identityETag);
+        assertEquals(HttpStatus.OK, restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(gzip), byte[].class).getStatusCode());
+        gzip.setIfNoneMatch(gzipETag);
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(gzip), byte[].class).getStatusCode());
+    }
+
+    @Test
+    void testGetSuppliersAnswersNotModifiedFromTheCachedPage() {
+        String url = "http://localhost:" + port + "/suppliers?size=2";
+        String etag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testPrometheusEndpointExportsServiceRepositoryHibernateAndPoolMetrics() {
+        String baseUrl = "http://localhost:" + port;
+        SupplierDTO supplier = restTemplate.postForObject(baseUrl + "/suppliers", new SupplierDTO("Metrics Supplier", "908-897-0980", "supplier@email.com"), SupplierDTO.class);
+        ProductDTO product = restTemplate.postForObject(baseUrl + "/products", new ProductDTO("Metrics Product", 10.0, 5.0, supplier.getId()), ProductDTO.class);
+        restTemplate.put(baseUrl + "/products/" + product.getId(), new ProductDTO("Metrics Product 2", 11.0, 5.0, supplier.getId()));
+        restTemplate.getForEntity(baseUrl + "/products/" + Long.MAX_VALUE, String.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String scrape = response.getBody();
+        assertTrue(scrape.contains("service_calls_seconds_bucket{exception=\"none\",operation=\"updateProduct\",outcome=\"SUCCESS\",service=\"ProductService\""));
+        assertTrue(scrape.contains("service_calls_seconds_count{exception=\"EntityNotFoundException\",operation=\"getProductById\",outcome=\"ERROR\",service=\"ProductService\"}"));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("hibernate_statements_total"));
+        assertTrue(scrape.contains("hibernate_flushes_total"));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_bucket{"));
+        assertTrue(scrape.contains("cache_gets_total{cache=\"products\",cache_manager=\"cacheManager\",name=\"products\","));
+        assertTrue(scrape.contains("cache_gets_total{cache=\"productList\",cache_manager=\"listResponseCache\",name=\"productList\","));
+    }
+}
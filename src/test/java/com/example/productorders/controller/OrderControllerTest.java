@@ -0,0 +1,91 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.OrderDTO;
+import com.example.productorders.DTO.OrderLineDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String baseUrl;
+    private String productUrl;
+    private Long firstProductId;
+    private Long secondProductId;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/orders";
+        productUrl = "http://localhost:" + port + "/products";
+        String supplierUrl = "http://localhost:" + port + "/suppliers";
+
+        SupplierDTO supplier = restTemplate.postForObject(supplierUrl, new SupplierDTO("Order Supplier", "908-897-0980", "supplier@email.com"), SupplierDTO.class);
+        firstProductId = restTemplate.postForObject(productUrl, new ProductDTO("Order Product 1", 10.0, 5.0, supplier.getId()), ProductDTO.class).getId();
+        secondProductId = restTemplate.postForObject(productUrl, new ProductDTO("Order Product 2", 20.0, 1.0, supplier.getId()), ProductDTO.class).getId();
+    }
+
+    @Test
+    void testPlaceOrder() {
+        OrderDTO request = new OrderDTO(List.of(new OrderLineDTO(firstProductId, 2.0), new OrderLineDTO(secondProductId, 1.0)));
+
+        ResponseEntity<OrderDTO> response = restTemplate.postForEntity(baseUrl, request, OrderDTO.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        OrderDTO placed = response.getBody();
+        assertNotNull(placed.getId());
+        assertEquals(2, placed.getLines().size());
+        assertEquals(10.0, placed.getLines().get(0).getUnitPrice());
+
+        assertEquals(3.0, restTemplate.getForObject(productUrl + "/" + firstProductId, ProductDTO.class).getStock());
+        assertEquals(0.0, restTemplate.getForObject(productUrl + "/" + secondProductId, ProductDTO.class).getStock());
+
+        OrderDTO fetched = restTemplate.getForObject(baseUrl + "/" + placed.getId(), OrderDTO.class);
+        assertEquals(placed.getId(), fetched.getId());
+        assertEquals(2, fetched.getLines().size());
+    }
+
+    @Test
+    void testPlaceOrderIsAllOrNothing() {
+        OrderDTO request = new OrderDTO(List.of(new OrderLineDTO(firstProductId, 2.0), new OrderLineDTO(secondProductId, 2.0)));
+
+        ResponseEntity<String> response = restTemplate.postForEntity(baseUrl, request, String.class);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(5.0, restTemplate.getForObject(productUrl + "/" + firstProductId, ProductDTO.class).getStock());
+        assertEquals(1.0, restTemplate.getForObject(productUrl + "/" + secondProductId, ProductDTO.class).getStock());
+    }
+
+    @Test
+    void testPlaceOrderForUnknownProduct() {
+        OrderDTO request = new OrderDTO(List.of(new OrderLineDTO(Long.MAX_VALUE, 1.0)));
+
+        ResponseEntity<String> response = restTemplate.postForEntity(baseUrl, request, String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testGetOrderNotFound() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/" + Long.MAX_VALUE, String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
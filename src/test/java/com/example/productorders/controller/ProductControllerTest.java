@@ -1,17 +1,34 @@
 package com.example.productorders.controller;
 
+import com.example.productorders.DTO.BatchItemResultDTO;
+import com.example.productorders.DTO.ImportStatusDTO;
+import com.example.productorders.DTO.MultiGetDTO;
 import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSearchHitDTO;
+import com.example.productorders.DTO.ProductStockDTO;
 import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.DTO.StockQuantityDTO;
 import com.example.productorders.DTO.SupplierDTO;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -26,6 +43,9 @@ class ProductControllerTest {
     private String baseUrl;
     private String supplierUrl;
 
+    private static final ParameterizedTypeReference<MultiGetDTO<ProductDTO>> MULTI_GET_PRODUCTS = new ParameterizedTypeReference<>() {
+    };
+
     ProductDTO productDTO;
     SupplierDTO supplierDTO;
 
@@ -46,6 +66,49 @@ class ProductControllerTest {
         assertNotNull(response.getBody());
     }
 
+    @Test
+    void testGetProductsPagesWithCursor() {
+        ResponseEntity<SupplierDTO> responseSupplier = restTemplate.postForEntity(supplierUrl, supplierDTO, SupplierDTO.class);
+        assertEquals(HttpStatus.OK, responseSupplier.getStatusCode());
+        restTemplate.postForEntity(baseUrl, productDTO, ProductDTO.class);
+        restTemplate.postForEntity(baseUrl, productDTO, ProductDTO.class);
+
+        ResponseEntity<ProductDTO[]> firstPage = restTemplate.getForEntity(baseUrl + "?size=1", ProductDTO[].class);
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(1, firstPage.getBody().length);
+
+        String cursor = firstPage.getHeaders().getFirst(ProductController.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        ResponseEntity<ProductDTO[]> secondPage = restTemplate.getForEntity(baseUrl + "?size=1&cursor=" + cursor, ProductDTO[].class);
+        assertEquals(HttpStatus.OK, secondPage.getStatusCode());
+        assertEquals(1, secondPage.getBody().length);
+        assertTrue(secondPage.getBody()[0].getId() > firstPage.getBody()[0].getId());
+    }
+
+    @Test
+    void testExportProductsAsNdjson() {
+        ResponseEntity<SupplierDTO> responseSupplier = restTemplate.postForEntity(supplierUrl, supplierDTO, SupplierDTO.class);
+        assertEquals(HttpStatus.OK, responseSupplier.getStatusCode());
+        restTemplate.postForEntity(baseUrl, productDTO, ProductDTO.class);
+
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/export", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().startsWith("{\"id\":"));
+    }
+
+    @Test
+    void testExportProductsAsCsv() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/export?format=csv", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().startsWith("id,name,price,stock,supplierId"));
+    }
+
     @Test
     void testSaveProduct() {
 
@@ -56,6 +119,34 @@ class ProductControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
     }
 
+    @Test
+    void testGetProductsByIdsKeepsOrderAndReportsMissingIds() {
+        Long supplierId = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class).getId();
+        Long first = restTemplate.postForObject(baseUrl, new ProductDTO("Multi First", 1.0, 1.0, supplierId), ProductDTO.class).getId();
+        Long second = restTemplate.postForObject(baseUrl, new ProductDTO("Multi Second", 2.0, 2.0, supplierId), ProductDTO.class).getId();
+
+        ResponseEntity<MultiGetDTO<ProductDTO>> response = restTemplate.exchange(
+                baseUrl + "?ids=" + second + "," + Long.MAX_VALUE + "," + first, HttpMethod.GET, null, MULTI_GET_PRODUCTS);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(second, first), response.getBody().getItems().stream().map(ProductDTO::getId).toList());
+        assertEquals(List.of(Long.MAX_VALUE), response.getBody().getMissingIds());
+
+        ResponseEntity<MultiGetDTO<ProductDTO>> lookup = restTemplate.exchange(
+                baseUrl + "/lookup", HttpMethod.POST, new HttpEntity<>(List.of(first, second)), MULTI_GET_PRODUCTS);
+
+        assertEquals(HttpStatus.OK, lookup.getStatusCode());
+        assertEquals(List.of(first, second), lookup.getBody().getItems().stream().map(ProductDTO::getId).toList());
+        assertEquals("Multi First", lookup.getBody().getItems().get(0).getName());
+    }
+
+    @Test
+    void testGetProductsByIdsRejectsNegativeIds() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "?ids=1,-2", String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
     @Test
     void testGetProductById() {
         ResponseEntity<SupplierDTO> responseSupplier = restTemplate.postForEntity(supplierUrl, supplierDTO, SupplierDTO.class);
@@ -93,6 +184,75 @@ class ProductControllerTest {
         assertNotNull(productSupplierDTO);
     }
 
+    @Test
+    void testSaveProductsBatch() {
+        ResponseEntity<SupplierDTO> responseSupplier = restTemplate.postForEntity(supplierUrl, supplierDTO, SupplierDTO.class);
+        assertEquals(HttpStatus.OK, responseSupplier.getStatusCode());
+        Long supplierId = responseSupplier.getBody().getId();
+
+        ProductDTO existing = restTemplate.postForObject(baseUrl, new ProductDTO("Batch Existing", 10.0, 1.0, supplierId), ProductDTO.class);
+
+        List<ProductDTO> batch = List.of(
+                new ProductDTO("Batch New", 20.0, 2.0, supplierId),
+                new ProductDTO(existing.getId(), "Batch Updated", 30.0, 3.0, supplierId),
+                new ProductDTO("Batch Bad Supplier", 40.0, 4.0, Long.MAX_VALUE),
+                new ProductDTO(null, 50.0, 5.0, supplierId));
+
+        ResponseEntity<BatchItemResultDTO[]> response = restTemplate.postForEntity(baseUrl + "/batch", batch, BatchItemResultDTO[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        List<BatchItemResultDTO> results = Arrays.asList(response.getBody());
+        assertEquals(4, results.size());
+        assertEquals(BatchItemResultDTO.Status.CREATED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getId());
+        assertEquals(BatchItemResultDTO.Status.UPDATED, results.get(1).getStatus());
+        assertEquals(BatchItemResultDTO.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(BatchItemResultDTO.Status.REJECTED, results.get(3).getStatus());
+
+        ProductDTO updated = restTemplate.getForObject(baseUrl + "/" + existing.getId(), ProductDTO.class);
+        assertEquals("Batch Updated", updated.getName());
+        ProductDTO created = restTemplate.getForObject(baseUrl + "/" + results.get(0).getId(), ProductDTO.class);
+        assertEquals("Batch New", created.getName());
+    }
+
+    @Test
+    void testSupplierUpdateRefreshesCachedProductSupplier() {
+        ResponseEntity<SupplierDTO> responseSupplier = restTemplate.postForEntity(supplierUrl, supplierDTO, SupplierDTO.class);
+        Long supplierId = responseSupplier.getBody().getId();
+        ProductDTO product = restTemplate.postForObject(baseUrl, new ProductDTO("Cached Product", 10.0, 1.0, supplierId), ProductDTO.class);
+
+        ProductSupplierDTO before = restTemplate.getForObject(baseUrl + "/suppliers/" + product.getId(), ProductSupplierDTO.class);
+        assertEquals(supplierDTO.getName(), before.getSupplier_name());
+
+        restTemplate.put(supplierUrl + "/" + supplierId, new SupplierDTO("Renamed Supplier", "908-897-0980", "supplier@email.com"));
+
+        ProductSupplierDTO after = restTemplate.getForObject(baseUrl + "/suppliers/" + product.getId(), ProductSupplierDTO.class);
+        assertEquals("Renamed Supplier", after.getSupplier_name());
+    }
+
+    @Test
+    void testReserveAndReleaseStock() {
+        ResponseEntity<SupplierDTO> responseSupplier = restTemplate.postForEntity(supplierUrl, supplierDTO, SupplierDTO.class);
+        Long supplierId = responseSupplier.getBody().getId();
+        ProductDTO product = restTemplate.postForObject(baseUrl, new ProductDTO("Reservable", 10.0, 5.0, supplierId), ProductDTO.class);
+
+        ResponseEntity<ProductStockDTO> reserve = restTemplate.postForEntity(baseUrl + "/" + product.getId() + "/reserve",
+                new StockQuantityDTO(3.0), ProductStockDTO.class);
+        assertEquals(HttpStatus.OK, reserve.getStatusCode());
+        assertEquals(2.0, reserve.getBody().getStock());
+
+        ResponseEntity<String> oversell = restTemplate.postForEntity(baseUrl + "/" + product.getId() + "/reserve",
+                new StockQuantityDTO(3.0), String.class);
+        assertEquals(HttpStatus.CONFLICT, oversell.getStatusCode());
+
+        ResponseEntity<ProductStockDTO> release = restTemplate.postForEntity(baseUrl + "/" + product.getId() + "/release",
+                new StockQuantityDTO(1.0), ProductStockDTO.class);
+        assertEquals(HttpStatus.OK, release.getStatusCode());
+        assertEquals(3.0, release.getBody().getStock());
+
+        assertEquals(3.0, restTemplate.getForObject(baseUrl + "/" + product.getId(), ProductDTO.class).getStock());
+    }
+
     @Test
     void testEditProduct() {
 
@@ -133,7 +293,196 @@ class ProductControllerTest {
 
         ResponseEntity<ProductDTO> responseDelete = restTemplate.getForEntity(baseUrl + "/" + productId, ProductDTO.class);
 
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, responseDelete.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, responseDelete.getStatusCode());
+    }
+
+    
+    @Test
+    void testSearchProductsFollowsWrites() {
+        SupplierDTO supplier = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class);
+        String token = "zq" + System.nanoTime();
+        ProductDTO created = restTemplate.postForObject(baseUrl, new ProductDTO("Searchable " + token + " Lamp", 20.0, 5.0, supplier.getId()), ProductDTO.class);
+
+        ProductSearchHitDTO[] hits = restTemplate.getForObject(baseUrl + "/search?q=" + token + " lamp", ProductSearchHitDTO[].class);
+        assertEquals(1, hits.length);
+        assertEquals(created.getId(), hits[0].getId());
+
+        ProductSearchHitDTO[] suggestions = restTemplate.getForObject(baseUrl + "/search?mode=prefix&q=" + token.substring(0, token.length() - 2), ProductSearchHitDTO[].class);
+        assertTrue(Arrays.stream(suggestions).anyMatch(hit -> hit.getId().equals(created.getId())));
+
+        restTemplate.put(baseUrl + "/" + created.getId(), new ProductDTO("Searchable " + token + " Desk", 20.0, 5.0, supplier.getId()));
+        assertEquals(0, restTemplate.getForObject(baseUrl + "/search?q=" + token + " lamp", ProductSearchHitDTO[].class).length);
+        assertEquals(1, restTemplate.getForObject(baseUrl + "/search?q=" + token + " desk", ProductSearchHitDTO[].class).length);
+
+        restTemplate.delete(baseUrl + "/" + created.getId());
+        assertEquals(0, restTemplate.getForObject(baseUrl + "/search?q=" + token, ProductSearchHitDTO[].class).length);
+    }
+
+    @Test
+    void testSearchProductsRejectsUnknownMode() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/search?q=lamp&mode=fuzzy", String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testGetProductsFiltersAndSorts() {
+        SupplierDTO supplier = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class);
+        ProductDTO cheap = restTemplate.postForObject(baseUrl, new ProductDTO("Filter Cheap", 5.0, 1.0, supplier.getId()), ProductDTO.class);
+        ProductDTO low = restTemplate.postForObject(baseUrl, new ProductDTO("Filter Low", 20.0, 2.0, supplier.getId()), ProductDTO.class);
+        ProductDTO mid = restTemplate.postForObject(baseUrl, new ProductDTO("Filter Mid", 40.0, 4.0, supplier.getId()), ProductDTO.class);
+        ProductDTO stocked = restTemplate.postForObject(baseUrl, new ProductDTO("Filter Stocked", 30.0, 80.0, supplier.getId()), ProductDTO.class);
+        ProductDTO tie = restTemplate.postForObject(baseUrl, new ProductDTO("Filter Tie", 40.0, 3.0, supplier.getId()), ProductDTO.class);
+        String query = baseUrl + "?supplierId=" + supplier.getId() + "&minPrice=10&maxPrice=50&maxStock=5&sort=-price&size=2";
+
+        ResponseEntity<ProductDTO[]> firstPage = restTemplate.getForEntity(query, ProductDTO[].class);
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(List.of(tie.getId(), mid.getId()), Arrays.stream(firstPage.getBody()).map(ProductDTO::getId).toList());
+
+        String cursor = firstPage.getHeaders().getFirst(ProductController.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+        ResponseEntity<ProductDTO[]> secondPage = restTemplate.getForEntity(query + "&cursor=" + cursor, ProductDTO[].class);
+        assertEquals(List.of(low.getId()), Arrays.stream(secondPage.getBody()).map(ProductDTO::getId).toList());
+        assertNull(secondPage.getHeaders().getFirst(ProductController.NEXT_CURSOR_HEADER));
+
+        ProductDTO[] byStock = restTemplate.getForObject(baseUrl + "?supplierId=" + supplier.getId() + "&sort=stock", ProductDTO[].class);
+        assertEquals(List.of(cheap.getId(), low.getId(), tie.getId(), mid.getId(), stocked.getId()), Arrays.stream(byStock).map(ProductDTO::getId).toList());
+    }
+
+    @Test
+    void testGetProductsRejectsInvalidFilter() {
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(baseUrl + "?minPrice=50&maxPrice=10", String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(baseUrl + "?sort=name", String.class).getStatusCode());
+    }
+
+    @Test
+    void testGetProductByIdRevalidatesWithETag() {
+        Long supplierId = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class).getId();
+        ProductDTO product = restTemplate.postForObject(baseUrl, new ProductDTO("Versioned", 10.0, 5.0, supplierId), ProductDTO.class);
+        String url = baseUrl + "/" + product.getId();
+
+        ResponseEntity<ProductDTO> first = restTemplate.getForEntity(url, ProductDTO.class);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+
+        ResponseEntity<String> notModified = getIfNoneMatch(url, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+
+        restTemplate.postForEntity(url + "/reserve", new StockQuantityDTO(1.0), ProductStockDTO.class);
+
+        ResponseEntity<String> changed = getIfNoneMatch(url, etag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetProductsRevalidatesWithETag() {
+        ResponseEntity<ProductDTO[]> first = restTemplate.getForEntity(baseUrl + "?size=5", ProductDTO[].class);
+        List<String> etags = first.getHeaders().get(HttpHeaders.ETAG);
+        assertEquals(1, etags.size());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, getIfNoneMatch(baseUrl + "?size=5", etags.get(0)).getStatusCode());
+
+        Long supplierId = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class).getId();
+        restTemplate.postForObject(baseUrl, new ProductDTO("List Change", 10.0, 5.0, supplierId), ProductDTO.class);
+
+        assertEquals(HttpStatus.OK, getIfNoneMatch(baseUrl + "?size=5", etags.get(0)).getStatusCode());
     }
 
-    }
\ No newline at end of file
+    @Test
+    void testGetProductByIdNegotiatesBinaryFormats() throws IOException {
+        Long supplierId = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class).getId();
+        ProductDTO product = restTemplate.postForObject(baseUrl, new ProductDTO("Binary Lamp", 10.0, 5.0, supplierId), ProductDTO.class);
+        String url = baseUrl + "/" + product.getId();
+
+        ResponseEntity<byte[]> cbor = getAccepting(url, "application/cbor");
+        assertEquals(HttpStatus.OK, cbor.getStatusCode());
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertTrue(cbor.getHeaders().getVary().contains(HttpHeaders.ACCEPT));
+        assertEquals(product, new CBORMapper().readValue(cbor.getBody(), ProductDTO.class));
+
+        // Each representation has its own validator
+        String jsonETag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+        assertNotEquals(jsonETag, cbor.getHeaders().getETag());
+
+        ResponseEntity<byte[]> smile = getAccepting(url, "application/json;q=0.5, application/x-jackson-smile");
+        assertEquals("application/x-jackson-smile", smile.getHeaders().getContentType().toString());
+        assertEquals("Binary Lamp", new SmileMapper().readValue(smile.getBody(), ProductDTO.class).getName());
+
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, getAccepting(url, "text/csv").getStatusCode());
+    }
+
+    @Test
+    void testGetProductsNegotiatesBinaryFormats() throws IOException {
+        Long supplierId = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class).getId();
+        restTemplate.postForObject(baseUrl, new ProductDTO("Binary Chair", 10.0, 5.0, supplierId), ProductDTO.class);
+        String url = baseUrl + "?supplierId=" + supplierId;
+
+        ResponseEntity<byte[]> cbor = getAccepting(url, "application/cbor");
+
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        ProductDTO[] products = new CBORMapper().readValue(cbor.getBody(), ProductDTO[].class);
+        assertEquals(1, products.length);
+        assertEquals("Binary Chair", products[0].getName());
+        assertEquals(supplierId, products[0].getSupplierId());
+    }
+
+    @Test
+    void testImportProducts() {
+        Long supplierId = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class).getId();
+        String csv = "name,price,stock,supplierId\n"
+                + "\"Lamp, brass\",10.0,5.0," + supplierId + "\n"
+                + "Chair,12.5,3.0," + supplierId + "\n"
+                + "Desk,12.5,3.0," + Long.MAX_VALUE + "\n";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType("text", "csv"));
+        ResponseEntity<ImportStatusDTO> response = restTemplate.postForEntity(baseUrl + "/imports?format=csv",
+                new HttpEntity<>(csv, headers), ImportStatusDTO.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ImportStatusDTO status = response.getBody();
+        assertEquals(ImportStatusDTO.State.COMPLETED, status.getState());
+        assertEquals(3, status.getRowsRead());
+        assertEquals(2, status.getRowsWritten());
+        assertEquals(1, status.getRowsRejected());
+        assertEquals(4, status.getRejections().get(0).getLine());
+
+        ProductDTO[] imported = restTemplate.getForObject(baseUrl + "?supplierId=" + supplierId, ProductDTO[].class);
+        assertEquals(2, imported.length);
+        assertEquals("Lamp, brass", imported[0].getName());
+
+        ImportStatusDTO polled = restTemplate.getForObject(baseUrl + "/imports/" + status.getId(), ImportStatusDTO.class);
+        assertEquals(2, polled.getRowsWritten());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(baseUrl + "/imports/" + Long.MAX_VALUE, String.class).getStatusCode());
+    }
+
+    @Test
+    void testImportProductsUnderAClientChosenId() {
+        Long supplierId = restTemplate.postForObject(supplierUrl, supplierDTO, SupplierDTO.class).getId();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType("text", "csv"));
+        headers.set(ProductController.IMPORT_ID_HEADER, "catalog-2024-06");
+        HttpEntity<String> upload = new HttpEntity<>("name,price,stock,supplierId\nLamp,10.0,5.0," + supplierId + "\n", headers);
+
+        ImportStatusDTO status = restTemplate.postForObject(baseUrl + "/imports?format=csv", upload, ImportStatusDTO.class);
+
+        assertEquals("catalog-2024-06", status.getId());
+        ImportStatusDTO polled = restTemplate.getForObject(baseUrl + "/imports/catalog-2024-06", ImportStatusDTO.class);
+        assertEquals(1, polled.getRowsWritten());
+        assertEquals(HttpStatus.CONFLICT, restTemplate.postForEntity(baseUrl + "/imports?format=csv", upload, String.class).getStatusCode());
+    }
+
+    private ResponseEntity<byte[]> getAccepting(String url, String accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, accept);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private ResponseEntity<String> getIfNoneMatch(String url, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveProductControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private String baseUrl;
+    private SupplierDTO supplier;
+    private ProductDTO product;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/reactive/products";
+        supplier = restTemplate.postForObject("http://localhost:" + port + "/suppliers",
+                new SupplierDTO("Reactive Supplier", "908-897-0980", "supplier@email.com"), SupplierDTO.class);
+        product = restTemplate.postForObject("http://localhost:" + port + "/products",
+                new ProductDTO("Reactive Product", 12.5, 30.0, supplier.getId()), ProductDTO.class);
+    }
+
+    @Test
+    void testGetProductById() {
+        ProductDTO response = restTemplate.getForObject(baseUrl + "/" + product.getId(), ProductDTO.class);
+
+        assertEquals(product, response);
+    }
+
+    @Test
+    void testGetProductByIdNotFound() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/" + Long.MAX_VALUE, String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testGetProductSupplier() {
+        ProductSupplierDTO response = restTemplate.getForObject(baseUrl + "/suppliers/" + product.getId(), ProductSupplierDTO.class);
+
+        assertEquals(new ProductSupplierDTO("Reactive Product", 12.5, 30.0, "Reactive Supplier", "908-897-0980", "supplier@email.com"), response);
+    }
+
+    @Test
+    void testGetProductsStreamsNdjson() {
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        String productLine = "{\"id\":" + product.getId() + ",\"name\":\"Reactive Product\",\"price\":12.5,\"stock\":30.0,\"supplierId\":" + supplier.getId() + "}";
+        assertTrue(List.of(response.getBody().split("\n")).contains(productLine));
+    }
+
+    @Test
+    void testGetProductsAsJsonArray() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+
+        ResponseEntity<ProductDTO[]> response = restTemplate.exchange(baseUrl, HttpMethod.GET, new HttpEntity<>(headers), ProductDTO[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(List.of(response.getBody()).contains(product));
+    }
+}
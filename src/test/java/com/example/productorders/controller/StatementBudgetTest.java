@@ -0,0 +1,252 @@
+package com.example.productorders.controller;
+
+import com.example.productorders.DTO.PriceAdjustmentDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets per endpoint, measured with Hibernate statistics.
+ * Each call must stay within its budget of prepared JDBC statements; going over fails the build.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+        })
+class StatementBudgetTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String baseUrl;
+    private String supplierUrl;
+    private Statistics statistics;
+    private Long supplierId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/products";
+        supplierUrl = "http://localhost:" + port + "/suppliers";
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Spread products over several suppliers so an N+1 would show up as extra selects
+        for (int i = 0; i < 3; i++) {
+            SupplierDTO supplier = createSupplier("Count Supplier " + i);
+            ProductDTO product = restTemplate.postForObject(baseUrl, new ProductDTO("Count Product " + i, 10.0, 5.0, supplier.getId()), ProductDTO.class);
+            supplierId = supplier.getId();
+            productId = product.getId();
+        }
+    }
+
+    @Test
+    void getProducts() {
+        ResponseEntity<ProductDTO[]> response = withinBudget(1, () -> restTemplate.getForEntity(baseUrl + "?size=50", ProductDTO[].class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getFilteredProducts() {
+        ResponseEntity<ProductDTO[]> response = withinBudget(1, () -> restTemplate.getForEntity(
+                baseUrl + "?minPrice=5&maxPrice=50&maxStock=10&sort=-price&size=50", ProductDTO[].class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().length >= 3);
+    }
+
+    @Test
+    void getSupplierSummary() {
+        ResponseEntity<SupplierSummaryDTO> response = withinBudget(1,
+                () -> restTemplate.getForEntity(supplierUrl + "/" + supplierId + "/summary", SupplierSummaryDTO.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // Served from the short-lived summary cache on a repeat poll
+        withinBudget(0, () -> restTemplate.getForEntity(supplierUrl + "/" + supplierId + "/summary", SupplierSummaryDTO.class));
+    }
+
+    @Test
+    void exportProducts() {
+        ResponseEntity<String> response = withinBudget(1, () -> restTemplate.getForEntity(baseUrl + "/export", String.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getProductSupplier() {
+        ResponseEntity<ProductSupplierDTO> response = withinBudget(1,
+                () -> restTemplate.getForEntity(baseUrl + "/suppliers/" + productId, ProductSupplierDTO.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getProductSupplierNotFound() {
+        ResponseEntity<String> response = withinBudget(1,
+                () -> restTemplate.getForEntity(baseUrl + "/suppliers/" + Long.MAX_VALUE, String.class));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void deleteProduct() {
+        ResponseEntity<Void> response = withinBudget(1,
+                () -> restTemplate.exchange(baseUrl + "/" + productId, HttpMethod.DELETE, null, Void.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void deleteProductNotFound() {
+        ResponseEntity<String> response = withinBudget(1,
+                () -> restTemplate.exchange(baseUrl + "/" + Long.MAX_VALUE, HttpMethod.DELETE, null, String.class));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void deleteSupplier() {
+        Long emptySupplierId = createSupplier("Deletable Supplier").getId();
+
+        // Remaining products check and the delete
+        ResponseEntity<Void> response = withinBudget(2,
+                () -> restTemplate.exchange(supplierUrl + "/" + emptySupplierId, HttpMethod.DELETE, null, Void.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void getProductByIdFromCache() {
+        double hitsBefore = meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit").functionCounter().count();
+        restTemplate.getForEntity(baseUrl + "/" + productId, ProductDTO.class);
+
+        ResponseEntity<ProductDTO> response = withinBudget(0, () -> restTemplate.getForEntity(baseUrl + "/" + productId, ProductDTO.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit").functionCounter().count() > hitsBefore);
+    }
+
+    @Test
+    void getProductsByIds() {
+        String url = baseUrl + "?ids=" + productId + "," + Long.MAX_VALUE;
+
+        // One IN query for every id the cache cannot answer, then none once they are cached
+        ResponseEntity<String> response = withinBudget(1, () -> restTemplate.getForEntity(url, String.class));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        withinBudget(0, () -> restTemplate.getForEntity(baseUrl + "?ids=" + productId, String.class));
+    }
+
+    @Test
+    void getProductsNotModified() {
+        String etag = restTemplate.getForEntity(baseUrl + "?size=50", String.class).getHeaders().getETag();
+
+        ResponseEntity<String> response = withinBudget(0, () -> getIfNoneMatch(baseUrl + "?size=50", etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void getProductByIdNotModified() {
+        String etag = restTemplate.getForEntity(baseUrl + "/" + productId, String.class).getHeaders().getETag();
+
+        ResponseEntity<String> response = withinBudget(0, () -> getIfNoneMatch(baseUrl + "/" + productId, etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void saveProductsBatch() {
+        List<ProductDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(new ProductDTO("Batch Product " + i, 10.0, 5.0, supplierId));
+        }
+
+        // 1 supplier check + a handful of pooled nextval calls + one insert statement per JDBC batch of 50
+        ResponseEntity<String> response = withinBudget(10, () -> restTemplate.postForEntity(baseUrl + "/batch", batch, String.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void adjustSupplierProductPrices() {
+        // Supplier check, id range and one set-based update, whatever the number of products
+        ResponseEntity<String> response = withinBudget(3, () -> restTemplate.exchange(supplierUrl + "/" + supplierId + "/products/price",
+                HttpMethod.PATCH, new HttpEntity<>(new PriceAdjustmentDTO(10.0, null)), String.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void deleteSupplierWithCascade() {
+        Long cascadedSupplierId = createSupplier("Cascaded Supplier").getId();
+        for (int i = 0; i < 20; i++) {
+            restTemplate.postForObject(baseUrl, new ProductDTO("Cascaded Product " + i, 10.0, 5.0, cascadedSupplierId), ProductDTO.class);
+        }
+
+        // Order check, supplier check, id range, one set-based delete for the products and one for the supplier
+        ResponseEntity<Void> response = withinBudget(5, () -> restTemplate.exchange(supplierUrl + "/" + cascadedSupplierId + "?strategy=cascade",
+                HttpMethod.DELETE, null, Void.class));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private <T> T withinBudget(long budget, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget, "expected at most " + budget + " statements but saw " + statements);
+        return result;
+    }
+
+    private ResponseEntity<String> getIfNoneMatch(String url, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private SupplierDTO createSupplier(String name) {
+        return restTemplate.postForObject(supplierUrl, new SupplierDTO(name, "908-897-0980", "supplier@email.com"), SupplierDTO.class);
+    }
+}
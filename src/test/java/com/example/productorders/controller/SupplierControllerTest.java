@@ -1,18 +1,32 @@
 package com.example.productorders.controller;
 
+import com.example.productorders.DTO.BulkUpdateResultDTO;
+import com.example.productorders.DTO.MultiGetDTO;
+import com.example.productorders.DTO.PriceAdjustmentDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.StockLevelDTO;
 import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -94,11 +108,171 @@ class SupplierControllerTest {
         assertEquals(HttpStatus.OK, responseSupplier.getStatusCode());
 
         Long productId = responseSupplier.getBody().getId();
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(baseUrl + "/" + productId + "/summary", String.class).getStatusCode());
 
         restTemplate.delete(baseUrl + "/" + productId);
 
         ResponseEntity<SupplierDTO> response = restTemplate.getForEntity(baseUrl + "/" + productId, SupplierDTO.class);
 
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(baseUrl + "/" + productId + "/summary", String.class).getStatusCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSupplierSummary() {
+
+        Long supplierId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+        String productUrl = "http://localhost:" + port + "/products";
+        restTemplate.postForObject(productUrl, new ProductDTO("Summary Product 1", 10.0, 4.0, supplierId), ProductDTO.class);
+        restTemplate.postForObject(productUrl, new ProductDTO("Summary Product 2", 30.0, 20.0, supplierId), ProductDTO.class);
+
+        ResponseEntity<SupplierSummaryDTO> response = restTemplate.getForEntity(baseUrl + "/" + supplierId + "/summary", SupplierSummaryDTO.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        SupplierSummaryDTO summary = response.getBody();
+        assertEquals(supplierId, summary.getSupplierId());
+        assertEquals(2L, summary.getProductCount());
+        assertEquals(1L, summary.getLowStockCount());
+        assertEquals(24.0, summary.getTotalStock());
+        assertEquals(640.0, summary.getInventoryValue());
+        assertEquals(20.0, summary.getAveragePrice());
+    }
+
+    @Test
+    void getSupplierSummariesIncludesSuppliersWithoutProducts() {
+
+        Long supplierId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+
+        ResponseEntity<SupplierSummaryDTO> single = restTemplate.getForEntity(baseUrl + "/" + supplierId + "/summary", SupplierSummaryDTO.class);
+        assertEquals(HttpStatus.OK, single.getStatusCode());
+        assertEquals(0L, single.getBody().getProductCount());
+        assertEquals(0.0, single.getBody().getInventoryValue());
+        assertNull(single.getBody().getAveragePrice());
+
+        ResponseEntity<SupplierSummaryDTO[]> response = restTemplate.getForEntity(baseUrl + "/summary", SupplierSummaryDTO[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().length > 0);
+    }
+
+    @Test
+    void getSupplierSummaryNotFound() {
+
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl + "/" + Long.MAX_VALUE + "/summary", String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void getSupplierByIdRevalidatesWithETag() {
+
+        Long supplierId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+        String url = baseUrl + "/" + supplierId;
+        String etag = restTemplate.getForEntity(url, SupplierDTO.class).getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class).getStatusCode());
+
+        restTemplate.put(url, new SupplierDTO("Renamed Supplier", "786-098-7657", "supplier@email.com"));
+
+        ResponseEntity<String> changed = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    void getSuppliersByIds() {
+
+        Long supplierId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+
+        ResponseEntity<MultiGetDTO<SupplierDTO>> response = restTemplate.exchange(baseUrl + "/lookup", HttpMethod.POST,
+                new HttpEntity<>(List.of(Long.MAX_VALUE, supplierId)), new ParameterizedTypeReference<MultiGetDTO<SupplierDTO>>() {
+                });
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals(supplierId, response.getBody().getItems().get(0).getId());
+        assertEquals(List.of(Long.MAX_VALUE), response.getBody().getMissingIds());
+
+        ResponseEntity<String> byQuery = restTemplate.getForEntity(baseUrl + "?ids=" + supplierId, String.class);
+        assertEquals(HttpStatus.OK, byQuery.getStatusCode());
+        assertTrue(byQuery.getBody().contains("\"missingIds\":[]"));
+    }
+
+    @Test
+    void adjustProductPricesAndStock() {
+
+        Long supplierId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+        String productUrl = "http://localhost:" + port + "/products";
+        Long lampId = restTemplate.postForObject(productUrl, new ProductDTO("Lamp", 10.0, 5.0, supplierId), ProductDTO.class).getId();
+        restTemplate.postForObject(productUrl, new ProductDTO("Chair", 20.0, 0.0, supplierId), ProductDTO.class);
+        restTemplate.getForObject(productUrl + "/" + lampId, ProductDTO.class);
+
+        BulkUpdateResultDTO prices = restTemplate.patchForObject(baseUrl + "/" + supplierId + "/products/price",
+                new PriceAdjustmentDTO(7.0, null), BulkUpdateResultDTO.class);
+        assertEquals(2, prices.getUpdated());
+
+        // Only the lamp has stock to clear
+        BulkUpdateResultDTO stock = restTemplate.patchForObject(baseUrl + "/" + supplierId + "/products/stock",
+                new StockLevelDTO(0.0), BulkUpdateResultDTO.class);
+        assertEquals(1, stock.getUpdated());
+
+        ProductDTO lamp = restTemplate.getForObject(productUrl + "/" + lampId, ProductDTO.class);
+        assertEquals(10.7, lamp.getPrice());
+        assertEquals(0.0, lamp.getStock());
+    }
+
+    @Test
+    void adjustProductPricesLeavesUnchangedPricesAlone() {
+
+        Long supplierId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+        String productUrl = "http://localhost:" + port + "/products";
+        Long lampId = restTemplate.postForObject(productUrl, new ProductDTO("Lamp", 10.0, 5.0, supplierId), ProductDTO.class).getId();
+        Long version = restTemplate.getForObject(productUrl + "/" + lampId, ProductDTO.class).getVersion();
+
+        BulkUpdateResultDTO unchanged = restTemplate.patchForObject(baseUrl + "/" + supplierId + "/products/price",
+                new PriceAdjustmentDTO(0.0, null), BulkUpdateResultDTO.class);
+        assertEquals(0, unchanged.getUpdated());
+
+        // 10.001 rounds back to 10.00
+        BulkUpdateResultDTO roundedBack = restTemplate.patchForObject(baseUrl + "/" + supplierId + "/products/price",
+                new PriceAdjustmentDTO(0.01, null), BulkUpdateResultDTO.class);
+        assertEquals(0, roundedBack.getUpdated());
+
+        ProductDTO lamp = restTemplate.getForObject(productUrl + "/" + lampId, ProductDTO.class);
+        assertEquals(10.0, lamp.getPrice());
+        assertEquals(version, lamp.getVersion());
+    }
+
+    @Test
+    void adjustProductPricesForUnknownSupplier() {
+
+        ResponseEntity<String> response = restTemplate.exchange(baseUrl + "/" + Long.MAX_VALUE + "/products/price",
+                HttpMethod.PATCH, new HttpEntity<>(new PriceAdjustmentDTO(null, 1.0)), String.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void deleteSupplierWithProducts() {
+
+        Long supplierId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+        Long targetId = restTemplate.postForObject(baseUrl, supplierDTO, SupplierDTO.class).getId();
+        String productUrl = "http://localhost:" + port + "/products";
+        Long movedId = restTemplate.postForObject(productUrl, new ProductDTO("Moved Lamp", 10.0, 5.0, supplierId), ProductDTO.class).getId();
+
+        ResponseEntity<String> rejected = restTemplate.exchange(baseUrl + "/" + supplierId, HttpMethod.DELETE, null, String.class);
+        assertEquals(HttpStatus.CONFLICT, rejected.getStatusCode());
+
+        ResponseEntity<String> reassigned = restTemplate.exchange(baseUrl + "/" + supplierId + "?strategy=reassign&reassignTo=" + targetId,
+                HttpMethod.DELETE, null, String.class);
+        assertEquals(HttpStatus.OK, reassigned.getStatusCode());
+        assertEquals(targetId, restTemplate.getForObject(productUrl + "/" + movedId, ProductDTO.class).getSupplierId());
+
+        ResponseEntity<String> cascaded = restTemplate.exchange(baseUrl + "/" + targetId + "?strategy=cascade",
+                HttpMethod.DELETE, null, String.class);
+        assertEquals(HttpStatus.OK, cascaded.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(productUrl + "/" + movedId, String.class).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, restTemplate.getForEntity(baseUrl + "/" + targetId, String.class).getStatusCode());
+    }
+}
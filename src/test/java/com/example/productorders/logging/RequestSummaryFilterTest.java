@@ -0,0 +1,59 @@
+package com.example.productorders.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestSummaryFilterTest {
+
+    private final RequestSummaryFilter filter = new RequestSummaryFilter();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestSummaryFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    @Test
+    void doFilter_ShouldWriteOneSummaryPerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            SqlStatementCounter counter = new SqlStatementCounter();
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/products/{id}");
+            req.setAttribute(RequestSummaryFilter.ROWS_ATTRIBUTE, 1);
+        });
+
+        List<ILoggingEvent> events = appender.list;
+        assertEquals(1, events.size());
+        String summary = events.get(0).getFormattedMessage();
+        assertTrue(summary.startsWith("request method=GET route=/products/{id} status=200 durationMs="), summary);
+        assertTrue(summary.endsWith("sqlStatements=2 rows=1"), summary);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.productorders.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private SamplingTurboFilter filter;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        filter = new SamplingTurboFilter();
+        logger = new LoggerContext().getLogger("sampled");
+    }
+
+    @Test
+    void decide_ShouldLeaveUnmarkedEventsAlone() {
+        filter.setOneIn(1_000_000);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "message", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(MarkerFactory.getMarker("OTHER"), logger, Level.DEBUG, "message", null, null));
+    }
+
+    @Test
+    void decide_ShouldLeaveLevelChecksAlone() {
+        filter.setOneIn(1_000_000);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(LogSampling.SAMPLED, logger, Level.DEBUG, null, null, null));
+    }
+
+    @Test
+    void decide_ShouldPassRoughlyOneInNSampledEvents() {
+        filter.setOneIn(10);
+
+        int passed = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.decide(LogSampling.SAMPLED, logger, Level.DEBUG, "message", null, null) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+
+        assertTrue(passed > 9_000 && passed < 11_000, "passed " + passed);
+    }
+
+    @Test
+    void setOneIn_ShouldRejectNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> filter.setOneIn(0));
+    }
+}
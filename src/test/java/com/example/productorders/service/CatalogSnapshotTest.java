@@ -0,0 +1,145 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.CatalogStatsDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
+import com.example.productorders.DTO.ProductFiguresDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new CatalogSnapshot.Builder(0)
+                .add(1L, 20L, 10.0, 5.0)
+                .add(2L, 10L, 30.0, 1.0)
+                .add(3L, 20L, 50.0, 40.0)
+                .add(4L, null, 5.0, 2.0)
+                .add(5L, 10L, 20.0, 8.0)
+                .build(Instant.EPOCH);
+    }
+
+    @Test
+    void stats_ShouldAggregateEveryProductWithoutFilter() {
+        CatalogStatsDTO stats = snapshot.stats(new ProductFilterDTO(), 6);
+
+        assertEquals(5L, stats.getProductCount());
+        assertEquals(3L, stats.getLowStockCount());
+        assertEquals(56.0, stats.getTotalStock());
+        assertEquals(50.0 + 30.0 + 2000.0 + 10.0 + 160.0, stats.getInventoryValue());
+        assertEquals(23.0, stats.getAveragePrice());
+        assertEquals(5.0, stats.getMinPrice());
+        assertEquals(50.0, stats.getMaxPrice());
+        assertEquals(1.0, stats.getMinStock());
+        assertEquals(40.0, stats.getMaxStock());
+        assertEquals(Instant.EPOCH, stats.getAsOf());
+    }
+
+    @Test
+    void stats_ShouldApplyHalfOpenRangesAndSupplier() {
+        CatalogStatsDTO stats = snapshot.stats(new ProductFilterDTO(10.0, 50.0, null, null, 20L), 6);
+
+        assertEquals(1L, stats.getProductCount());
+        assertEquals(10.0, stats.getMinPrice());
+        assertEquals(10.0, stats.getMaxPrice());
+    }
+
+    @Test
+    void stats_ShouldReturnNullExtremesWhenNothingMatches() {
+        CatalogStatsDTO unknownSupplier = snapshot.stats(new ProductFilterDTO(null, null, null, null, 99L), 6);
+        CatalogStatsDTO emptyRange = snapshot.stats(new ProductFilterDTO(10.0, 10.0, null, null, null), 6);
+
+        for (CatalogStatsDTO stats : List.of(unknownSupplier, emptyRange)) {
+            assertEquals(0L, stats.getProductCount());
+            assertEquals(0.0, stats.getInventoryValue());
+            assertNull(stats.getAveragePrice());
+            assertNull(stats.getMinPrice());
+        }
+        assertEquals(0L, CatalogSnapshot.EMPTY.stats(new ProductFilterDTO(), 6).getProductCount());
+    }
+
+    @Test
+    void bySupplier_ShouldGroupInSupplierOrderWithoutSupplierLast() {
+        List<SupplierSummaryDTO> summaries = snapshot.bySupplier(new ProductFilterDTO(), 6);
+
+        assertEquals(3, summaries.size());
+        assertEquals(new SupplierSummaryDTO(10L, 2L, 1L, 9.0, 190.0, 25.0), summaries.get(0));
+        assertEquals(new SupplierSummaryDTO(20L, 2L, 1L, 45.0, 2050.0, 30.0), summaries.get(1));
+        assertNull(summaries.get(2).getSupplierId());
+    }
+
+    @Test
+    void bySupplier_ShouldSkipSuppliersWithoutMatches() {
+        List<SupplierSummaryDTO> summaries = snapshot.bySupplier(new ProductFilterDTO(40.0, null, null, null, null), 6);
+
+        assertEquals(List.of(20L), summaries.stream().map(SupplierSummaryDTO::getSupplierId).toList());
+    }
+
+    @Test
+    void top_ShouldRankByMetricAndBreakTiesById() {
+        CatalogSnapshot tied = new CatalogSnapshot.Builder(0)
+                .add(7L, 1L, 10.0, 1.0)
+                .add(3L, 2L, 10.0, 1.0)
+                .add(5L, 1L, 20.0, 1.0)
+                .build(Instant.EPOCH);
+
+        List<ProductFiguresDTO> top = tied.top(new ProductFilterDTO(), CatalogSnapshot.Metric.PRICE, 2);
+
+        assertEquals(List.of(new ProductFiguresDTO(5L, 1L, 20.0, 1.0), new ProductFiguresDTO(3L, 2L, 10.0, 1.0)), top);
+        assertEquals(List.of(3L, 5L), snapshot.top(new ProductFilterDTO(), CatalogSnapshot.Metric.VALUE, 2)
+                .stream().map(ProductFiguresDTO::getId).toList());
+    }
+
+    @Test
+    void queries_ShouldMatchBruteForceAcrossChunks() {
+        Random random = new Random(42);
+        int size = CatalogSnapshot.CHUNK * 3 + 123;
+        double[] prices = new double[size];
+        double[] stocks = new double[size];
+        long[] suppliers = new long[size];
+        CatalogSnapshot.Builder builder = new CatalogSnapshot.Builder(size);
+        for (int i = 0; i < size; i++) {
+            prices[i] = random.nextInt(100_000) / 100.0;
+            stocks[i] = random.nextInt(100);
+            suppliers[i] = 1 + random.nextInt(5);
+            builder.add(i, suppliers[i], prices[i], stocks[i]);
+        }
+        CatalogSnapshot large = builder.build(Instant.EPOCH);
+        ProductFilterDTO filter = new ProductFilterDTO(100.0, 900.0, 10.0, null, null);
+
+        int[] matching = IntStream.range(0, size)
+                .filter(i -> prices[i] >= 100.0 && prices[i] < 900.0 && stocks[i] >= 10.0)
+                .toArray();
+        CatalogStatsDTO stats = large.stats(filter, 20);
+        assertEquals(matching.length, stats.getProductCount());
+        assertEquals(IntStream.of(matching).filter(i -> stocks[i] < 20).count(), stats.getLowStockCount());
+        assertEquals(IntStream.of(matching).mapToDouble(i -> prices[i] * stocks[i]).sum(), stats.getInventoryValue(), 1e-3);
+
+        long supplierThree = IntStream.of(matching).filter(i -> suppliers[i] == 3).count();
+        assertEquals(supplierThree, large.bySupplier(filter, 20).get(2).getProductCount());
+
+        List<Long> expectedTop = IntStream.of(matching).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> prices[i] * stocks[i]).reversed().thenComparing(i -> i))
+                .limit(25)
+                .map(Integer::longValue)
+                .toList();
+        assertEquals(expectedTop, large.top(filter, CatalogSnapshot.Metric.VALUE, 25).stream().map(ProductFiguresDTO::getId).toList());
+    }
+
+    @Test
+    void metric_ShouldRejectUnknownNames() {
+        assertEquals(CatalogSnapshot.Metric.STOCK, CatalogSnapshot.Metric.fromParameter("stock"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogSnapshot.Metric.fromParameter("name"));
+    }
+}
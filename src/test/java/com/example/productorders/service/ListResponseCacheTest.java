@@ -0,0 +1,158 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.PageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListResponseCacheTest {
+
+    private final AtomicReference<String> tag = new AtomicReference<>("v1");
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Queue<Runnable> rebuilds = new ArrayDeque<>();
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private ListResponseCache<Integer> cache(boolean enabled) {
+        return new ListResponseCache<>("test", enabled, 1 << 20, Duration.ofMinutes(1), 64, tag::get,
+                size -> {
+                    if (failure.get() != null) {
+                        throw failure.get();
+                    }
+                    loads.incrementAndGet();
+                    return new PageDTO<>(Collections.nCopies(size, tag.get()), size > 1 ? "next" : null);
+                },
+                new ObjectMapper(), rebuilds::add, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeTheSamePage() {
+        ListResponseCache<Integer> cache = cache(true);
+
+        ListResponseCache.Page first = cache.get(2, PayloadFormat.JSON);
+        ListResponseCache.Page second = cache.get(2, PayloadFormat.JSON);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals("v1", first.tag());
+        assertEquals(2, first.rows());
+        assertEquals("[\"v1\",\"v1\"]", new String(first.body()));
+        assertEquals("next", first.nextCursor());
+        assertTrue(rebuilds.isEmpty());
+    }
+
+    @Test
+    void get_ShouldServeThePreviousPageUntilTheRebuildLands() {
+        ListResponseCache<Integer> cache = cache(true);
+        ListResponseCache.Page previous = cache.get(1, PayloadFormat.JSON);
+
+        tag.set("v2");
+        cache.invalidated();
+
+        assertSame(previous, cache.get(1, PayloadFormat.JSON));
+        assertEquals("v1", cache.tag(1, PayloadFormat.JSON));
+        assertEquals(1, loads.get());
+        assertEquals(1, rebuilds.size());
+
+        rebuilds.poll().run();
+
+        assertEquals(2, loads.get());
+        assertEquals("v2", cache.tag(1, PayloadFormat.JSON));
+        assertEquals("[\"v2\"]", new String(cache.get(1, PayloadFormat.JSON).body()));
+    }
+
+    @Test
+    void invalidated_ShouldScheduleOneRebuildForABurstOfWrites() {
+        ListResponseCache<Integer> cache = cache(true);
+        cache.get(1, PayloadFormat.JSON);
+        cache.get(2, PayloadFormat.JSON);
+
+        tag.set("v2");
+        cache.invalidated();
+        cache.invalidated();
+        cache.get(1, PayloadFormat.JSON);
+
+        assertEquals(1, rebuilds.size());
+        rebuilds.poll().run();
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void rebuild_ShouldKeepThePreviousPageWhenLoadingFails() {
+        ListResponseCache<Integer> cache = cache(true);
+        ListResponseCache.Page previous = cache.get(1, PayloadFormat.JSON);
+
+        tag.set("v2");
+        failure.set(new IllegalStateException("database down"));
+        cache.invalidated();
+        rebuilds.poll().run();
+
+        assertSame(previous, cache.get(1, PayloadFormat.JSON));
+        assertEquals(1, rebuilds.size());
+    }
+
+    @Test
+    void get_ShouldKeepAGzipCopyOfLargePagesOnly() throws IOException {
+        ListResponseCache<Integer> cache = cache(true);
+
+        assertNull(cache.get(1, PayloadFormat.JSON).gzip());
+
+        ListResponseCache.Page large = cache.get(50, PayloadFormat.JSON);
+        assertNotNull(large.gzip());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertArrayEquals(large.body(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void get_ShouldLoadEveryTimeWhenDisabled() {
+        ListResponseCache<Integer> cache = cache(false);
+
+        cache.get(50, PayloadFormat.JSON);
+        ListResponseCache.Page page = cache.get(50, PayloadFormat.JSON);
+        tag.set("v2");
+        cache.invalidated();
+
+        assertEquals(2, loads.get());
+        assertNull(page.gzip());
+        assertEquals("v2", cache.tag(50, PayloadFormat.JSON));
+        assertTrue(rebuilds.isEmpty());
+    }
+
+    @Test
+    void get_ShouldNotCacheAFailedLoad() {
+        ListResponseCache<Integer> cache = cache(true);
+        failure.set(new IllegalArgumentException("Invalid cursor"));
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1, PayloadFormat.JSON));
+
+        failure.set(null);
+        assertEquals("[\"v1\"]", new String(cache.get(1, PayloadFormat.JSON).body()));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ShouldKeepEachFormatAsItsOwnPage() throws IOException {
+        ListResponseCache<Integer> cache = cache(true);
+
+        ListResponseCache.Page json = cache.get(2, PayloadFormat.JSON);
+        ListResponseCache.Page cbor = cache.get(2, PayloadFormat.CBOR);
+
+        assertNotSame(json, cbor);
+        assertSame(cbor, cache.get(2, PayloadFormat.CBOR));
+        assertEquals(2, loads.get());
+        assertArrayEquals(new String[]{"v1", "v1"}, new CBORMapper().readValue(cbor.body(), String[].class));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.OrderDTO;
+import com.example.productorders.DTO.OrderLineDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Places orders from many concurrent clients and checks that group commit actually grouped orders and that every
+ * committed line reached stock. Throughput and latency are measured by OrderPlacementBenchmark (benchmark profile).
+ */
+@SpringBootTest
+class OrderConcurrencyTest {
+
+    private static final int CLIENTS = 32;
+    private static final int ORDERS = 400;
+    private static final int PRODUCTS = 20;
+    private static final double INITIAL_STOCK = 1_000_000.0;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void placeOrdersConcurrently() throws Exception {
+        SupplierDTO supplier = supplierService.saveSupplier(new SupplierDTO("Load Supplier", "908-897-0980", "supplier@email.com"));
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productService.saveProduct(new ProductDTO("Load Product " + i, 5.0, INITIAL_STOCK, supplier.getId())).getId());
+        }
+
+        AtomicIntegerArray ordered = new AtomicIntegerArray(PRODUCTS);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<OrderLineDTO> lines = new ArrayList<>();
+                for (int line = 0, count = 1 + random.nextInt(3); line < count; line++) {
+                    int product = random.nextInt(PRODUCTS);
+                    lines.add(new OrderLineDTO(productIds.get(product), 1.0));
+                    ordered.incrementAndGet(product);
+                }
+                orderService.placeOrder(new OrderDTO(lines));
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        DistributionSummary batchSizes = meterRegistry.get("orders.group_commit.batch.size").summary();
+        assertTrue(batchSizes.max() > 1, "expected concurrent orders to share a commit");
+        for (int i = 0; i < PRODUCTS; i++) {
+            assertEquals(INITIAL_STOCK - ordered.get(i), productService.getProductById(productIds.get(i)).getStock());
+        }
+    }
+}
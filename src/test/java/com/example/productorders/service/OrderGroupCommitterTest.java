@@ -0,0 +1,82 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.OrderLineDTO;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.config.GroupCommitProperties;
+import com.example.productorders.model.Order;
+import com.example.productorders.model.Product;
+import com.example.productorders.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class OrderGroupCommitterTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(productRepository.findPricesByIds(any())).thenReturn(List.<Object[]>of(new Object[]{1L, 10.0}));
+        when(entityManager.getReference(Product.class, 1L)).thenReturn(new Product());
+
+        orderGroupCommitter = new OrderGroupCommitter(productRepository, jdbcTemplate, entityManager, transactionManager,
+                new ConcurrentMapCacheManager(CacheConfig.PRODUCTS, CacheConfig.PRODUCT_SUPPLIERS), new CatalogVersions(),
+                new GroupCommitProperties(), new SimpleMeterRegistry());
+        orderGroupCommitter.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        orderGroupCommitter.stop();
+    }
+
+    @Test
+    void submit_ShouldKeepPlacingOrdersAfterABatchFailsWithAnError() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new OutOfMemoryError("Simulated"))
+                .thenReturn(new int[]{1});
+
+        CompletableFuture<Order> failed = orderGroupCommitter.submit(List.of(new OrderLineDTO(1L, 2.0)));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutOfMemoryError.class, failure.getCause());
+
+        Order placed = orderGroupCommitter.submit(List.of(new OrderLineDTO(1L, 2.0))).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, placed.getLines().size());
+        assertEquals(10.0, placed.getLines().get(0).getUnitPrice());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.OrderDTO;
+import com.example.productorders.DTO.OrderLineDTO;
+import com.example.productorders.config.GroupCommitProperties;
+import com.example.productorders.exception.InsufficientStockException;
+import com.example.productorders.model.Order;
+import com.example.productorders.model.OrderLine;
+import com.example.productorders.model.Product;
+import com.example.productorders.model.Supplier;
+import com.example.productorders.repository.OrderRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @Spy
+    private GroupCommitProperties groupCommitProperties = new GroupCommitProperties();
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Supplier supplier = new Supplier(1L, "Test Supplier", "993-446-5678", "supplier@rmail.com");
+        Product product = new Product(1L, "Test Product", 100.0, 50.0, supplier);
+        order = new Order(1L, Instant.now(), new ArrayList<>());
+        order.addLine(new OrderLine(1L, null, product, 2.0, 100.0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void placeOrder_ShouldMergeAndSortLinesBeforeSubmitting() {
+        when(orderGroupCommitter.submit(any())).thenReturn(CompletableFuture.completedFuture(order));
+
+        OrderDTO orderDTO = new OrderDTO(List.of(new OrderLineDTO(5L, 1.0), new OrderLineDTO(1L, 1.0), new OrderLineDTO(5L, 2.0)));
+        orderService.placeOrder(orderDTO);
+
+        ArgumentCaptor<List<OrderLineDTO>> lines = ArgumentCaptor.forClass(List.class);
+        verify(orderGroupCommitter).submit(lines.capture());
+        assertEquals(2, lines.getValue().size());
+        assertEquals(1L, lines.getValue().get(0).getProductId());
+        assertEquals(5L, lines.getValue().get(1).getProductId());
+        assertEquals(3.0, lines.getValue().get(1).getQuantity());
+    }
+
+    @Test
+    void placeOrder_ShouldReturnCommittedOrder() {
+        when(orderGroupCommitter.submit(any())).thenReturn(CompletableFuture.completedFuture(order));
+
+        OrderDTO result = orderService.placeOrder(new OrderDTO(List.of(new OrderLineDTO(1L, 2.0))));
+
+        assertEquals(1L, result.getId());
+        assertEquals(1, result.getLines().size());
+        assertEquals(100.0, result.getLines().get(0).getUnitPrice());
+    }
+
+    @Test
+    void placeOrder_ShouldRethrowRejection() {
+        when(orderGroupCommitter.submit(any())).thenReturn(CompletableFuture.failedFuture(new InsufficientStockException(1L, 2.0)));
+
+        assertThrows(InsufficientStockException.class, () -> orderService.placeOrder(new OrderDTO(List.of(new OrderLineDTO(1L, 2.0)))));
+    }
+
+    @Test
+    void placeOrder_ShouldRejectEmptyOrder() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder(new OrderDTO(List.of())));
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder(null));
+    }
+
+    @Test
+    void placeOrder_ShouldRejectNonPositiveQuantity() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder(new OrderDTO(List.of(new OrderLineDTO(1L, 0.0)))));
+        verifyNoInteractions(orderGroupCommitter);
+    }
+
+    @Test
+    void getOrderById_ShouldReturnOrderDTO() {
+        when(orderRepository.findOrderWithLines(1L)).thenReturn(Optional.of(order));
+
+        OrderDTO result = orderService.getOrderById(1L);
+
+        assertEquals(order.getId(), result.getId());
+        assertEquals(1L, result.getLines().get(0).getProductId());
+    }
+
+    @Test
+    void getOrderById_ShouldThrowExceptionIfOrderNotFound() {
+        when(orderRepository.findOrderWithLines(999L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> orderService.getOrderById(999L));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductExportService productExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        productExportService = new ProductExportService(productRepository, new ObjectMapper());
+    }
+
+    @Test
+    void exportProducts_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        when(productRepository.streamAllProductDTOs()).thenReturn(Stream.of(
+                new ProductDTO(1L, "Product 1", 100.0, 50.0, 1L),
+                new ProductDTO(2L, "Product 2", 150.0, 60.0, 1L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = productExportService.exportProducts(ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Product 1\""));
+        assertTrue(lines[1].contains("\"supplierId\":1"));
+    }
+
+    @Test
+    void exportProducts_ShouldWriteCsvWithHeaderAndEscaping() throws Exception {
+        when(productRepository.streamAllProductDTOs()).thenReturn(Stream.of(
+                new ProductDTO(1L, "Bolt, \"M8\"", 100.0, 50.0, 1L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productExportService.exportProducts(ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,name,price,stock,supplierId", lines[0]);
+        assertEquals("1,\"Bolt, \"\"M8\"\"\",100.0,50.0,1", lines[1]);
+    }
+
+    @Test
+    void exportProducts_ShouldWriteEveryRowOfALargeCatalog() throws Exception {
+        List<ProductDTO> products = new ArrayList<>();
+        for (long i = 1; i <= ProductRepository.EXPORT_FETCH_SIZE * 2L + 1; i++) {
+            products.add(new ProductDTO(i, "Product " + i, 100.0, 50.0, 1L));
+        }
+        when(productRepository.streamAllProductDTOs()).thenReturn(products.stream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = productExportService.exportProducts(ExportFormat.NDJSON, out);
+
+        assertEquals(products.size(), rows);
+        assertEquals(products.size(), out.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    void fromParameter_ShouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromParameter("xml"));
+    }
+}
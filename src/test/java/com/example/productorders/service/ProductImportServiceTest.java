@@ -0,0 +1,257 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.BatchItemResultDTO;
+import com.example.productorders.DTO.ImportRejectionDTO;
+import com.example.productorders.DTO.ImportStatusDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.config.ImportProperties;
+import com.example.productorders.exception.ImportCapacityException;
+import com.example.productorders.exception.ImportConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductBatchService productBatchService;
+
+    private final ImportProperties importProperties = new ImportProperties();
+    private final List<ProductDTO> written = Collections.synchronizedList(new ArrayList<>());
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        importProperties.setBatchSize(2);
+        when(productBatchService.upsertProducts(anyList())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+        productImportService = new ProductImportService(productBatchService, importProperties, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productImportService.stop();
+    }
+
+    @Test
+    void importProducts_ShouldReadQuotedCsvInAnyColumnOrder() {
+        String csv = "supplierId,name,price,stock\r\n"
+                + "1,\"Bolt, \"\"M8\"\"\",1.5,100\r\n"
+                + "\r\n"
+                + "2,\"Two\nLines\",2.0,3\n"
+                + "1,Nut,0.5,7";
+
+        ImportStatusDTO status = productImportService.importProducts(ExportFormat.CSV, null, stream(csv));
+
+        assertEquals(ImportStatusDTO.State.COMPLETED, status.getState());
+        assertEquals(3, status.getRowsRead());
+        assertEquals(3, status.getRowsWritten());
+        assertEquals(0, status.getRowsRejected());
+        assertNotNull(status.getFinishedAt());
+        assertEquals(List.of(
+                new ProductDTO(null, "Bolt, \"M8\"", 1.5, 100.0, 1L),
+                new ProductDTO(null, "Two\nLines", 2.0, 3.0, 2L),
+                new ProductDTO(null, "Nut", 0.5, 7.0, 1L)), written);
+    }
+
+    @Test
+    void importProducts_ShouldReadAnExportBackAsUpdates() {
+        String csv = "id,name,price,stock,supplierId\n7,Lamp,10.0,5.0,1\n";
+
+        productImportService.importProducts(ExportFormat.CSV, null, stream(csv));
+
+        assertEquals(List.of(new ProductDTO(7L, "Lamp", 10.0, 5.0, 1L)), written);
+    }
+
+    @Test
+    void importProducts_ShouldRejectUnparseableRowsByLine() {
+        String csv = "name,price,stock,supplierId\n"
+                + "Lamp,ten,5,1\n"
+                + "Chair,10,5,1\n"
+                + "\"Desk\n, large\",12,x,1\n"
+                + "Table,20,5,1\n";
+
+        ImportStatusDTO status = productImportService.importProducts(ExportFormat.CSV, null, stream(csv));
+
+        assertEquals(4, status.getRowsRead());
+        assertEquals(2, status.getRowsWritten());
+        assertEquals(List.of(
+                new ImportRejectionDTO(2, "Not a number: ten"),
+                new ImportRejectionDTO(4, "Not a number: x")), status.getRejections());
+    }
+
+    @Test
+    void importProducts_ShouldReportRowsTheBatchRejected() {
+        when(productBatchService.upsertProducts(anyList())).thenAnswer(invocation -> {
+            List<ProductDTO> batch = invocation.getArgument(0);
+            List<BatchItemResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(batch.get(i).getSupplierId() == 99L
+                        ? new BatchItemResultDTO(i, null, BatchItemResultDTO.Status.REJECTED, "Cannot find supplier with id 99")
+                        : new BatchItemResultDTO(i, (long) i, BatchItemResultDTO.Status.CREATED, null));
+            }
+            return results;
+        });
+        String ndjson = "{\"name\":\"Lamp\",\"price\":10.0,\"stock\":5.0,\"supplierId\":1}\n"
+                + "\n"
+                + "{\"name\":\"Chair\",\"price\":10.0,\"stock\":5.0,\"supplierId\":99}\n"
+                + "{\"name\":\"Desk\",\"price\":\n"
+                + "{\"name\":\"Table\",\"price\":10.0,\"stock\":5.0,\"supplierId\":1}\n";
+
+        ImportStatusDTO status = productImportService.importProducts(ExportFormat.NDJSON, null, stream(ndjson));
+
+        assertEquals(ImportStatusDTO.State.COMPLETED, status.getState());
+        assertEquals(4, status.getRowsRead());
+        assertEquals(2, status.getRowsWritten());
+        assertEquals(2, status.getRowsRejected());
+        // Parser and writer report concurrently, so the order between them is not fixed
+        List<ImportRejectionDTO> rejections = new ArrayList<>(status.getRejections());
+        rejections.sort(Comparator.comparingLong(ImportRejectionDTO::getLine));
+        assertEquals(new ImportRejectionDTO(3, "Cannot find supplier with id 99"), rejections.get(0));
+        assertEquals(4, rejections.get(1).getLine());
+        assertTrue(rejections.get(1).getMessage().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importProducts_ShouldFailWithoutTheRequiredColumns() {
+        ImportStatusDTO status = productImportService.importProducts(ExportFormat.CSV, null, stream("name,price\nLamp,10\n"));
+
+        assertEquals(ImportStatusDTO.State.FAILED, status.getState());
+        assertTrue(status.getMessage().contains("supplierId"));
+        assertEquals(status, productImportService.getImport(status.getId()));
+    }
+
+    @Test
+    void importProducts_ShouldFailOnARecordLongerThanTheLimit() {
+        importProperties.setMaxRecordLength(64);
+        String unterminated = "name,price,stock,supplierId\nLamp,10.0,5.0,1\n\"Chair" + ",1.0".repeat(100_000) + "\n";
+        String unbroken = "{\"name\":\"Lamp\",\"price\":10.0,\"stock\":5.0,\"supplierId\":1}\n"
+                + "{\"name\":\"" + "x".repeat(100_000) + "\"}";
+
+        ImportStatusDTO csv = productImportService.importProducts(ExportFormat.CSV, null, stream(unterminated));
+        ImportStatusDTO ndjson = productImportService.importProducts(ExportFormat.NDJSON, null, stream(unbroken));
+
+        assertEquals(ImportStatusDTO.State.FAILED, csv.getState());
+        assertEquals("Record starting on line 3 is longer than 64 characters", csv.getMessage());
+        assertEquals(ImportStatusDTO.State.FAILED, ndjson.getState());
+        assertEquals("Line 2 is longer than 64 characters", ndjson.getMessage());
+        assertEquals(1, csv.getRowsRead());
+        assertEquals(1, ndjson.getRowsRead());
+    }
+
+    @Test
+    void importProducts_ShouldStopReadingWhileTheWriterIsBehind() throws Exception {
+        importProperties.setBatchSize(1);
+        importProperties.setQueueCapacity(1);
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        when(productBatchService.upsertProducts(anyList())).thenAnswer(invocation -> {
+            writerBlocked.await(10, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+        InputStream upload = new SequenceInputStream(Collections.enumeration(IntStream.range(0, 1000)
+                .mapToObj(i -> (InputStream) stream("{\"name\":\"P" + i + "\",\"price\":1.0,\"stock\":1.0,\"supplierId\":1}\n"))
+                .toList()));
+
+        CompletableFuture<ImportStatusDTO> result = CompletableFuture.supplyAsync(
+                () -> productImportService.importProducts(ExportFormat.NDJSON, null, upload));
+        Thread.sleep(200);
+
+        ImportStatusDTO running = productImportService.getImports().get(0);
+        assertEquals(ImportStatusDTO.State.RUNNING, running.getState());
+        // One batch with the writer, one queued, one being parsed
+        assertTrue(running.getRowsRead() <= 3, "read " + running.getRowsRead() + " rows ahead of the writer");
+
+        writerBlocked.countDown();
+        ImportStatusDTO finished = result.get(10, TimeUnit.SECONDS);
+        assertEquals(1000, finished.getRowsWritten());
+        assertTrue(finished.getRowsPerSecond() > 0);
+    }
+
+    @Test
+    void importProducts_ShouldBePollableUnderTheClientIdWhileRunning() throws Exception {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        when(productBatchService.upsertProducts(anyList())).thenAnswer(invocation -> {
+            writerBlocked.await(10, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+
+        CompletableFuture<ImportStatusDTO> result = CompletableFuture.supplyAsync(() -> productImportService.importProducts(
+                ExportFormat.CSV, "nightly-1", stream("name,price,stock,supplierId\nLamp,10.0,5.0,1\n")));
+        Thread.sleep(200);
+
+        assertEquals(ImportStatusDTO.State.RUNNING, productImportService.getImport("nightly-1").getState());
+        assertThrows(ImportConflictException.class,
+                () -> productImportService.importProducts(ExportFormat.CSV, "nightly-1", stream("")));
+        assertThrows(IllegalArgumentException.class,
+                () -> productImportService.importProducts(ExportFormat.CSV, "nightly 1", stream("")));
+
+        writerBlocked.countDown();
+        assertEquals("nightly-1", result.get(10, TimeUnit.SECONDS).getId());
+        assertEquals(ImportStatusDTO.State.COMPLETED, productImportService.getImport("nightly-1").getState());
+    }
+
+    @Test
+    void importProducts_ShouldRefuseUploadsBeyondTheConcurrencyLimit() throws Exception {
+        productImportService.stop();
+        importProperties.setMaxConcurrentImports(1);
+        productImportService = new ProductImportService(productBatchService, importProperties, new ObjectMapper());
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        when(productBatchService.upsertProducts(anyList())).thenAnswer(invocation -> {
+            writerBlocked.await(10, TimeUnit.SECONDS);
+            return created(invocation.getArgument(0));
+        });
+
+        CompletableFuture<ImportStatusDTO> result = CompletableFuture.supplyAsync(() -> productImportService.importProducts(
+                ExportFormat.CSV, null, stream("name,price,stock,supplierId\nLamp,10.0,5.0,1\n")));
+        Thread.sleep(200);
+
+        InputStream unread = stream("name,price,stock,supplierId\n");
+        assertThrows(ImportCapacityException.class, () -> productImportService.importProducts(ExportFormat.CSV, null, unread));
+        assertEquals(28, unread.available());
+
+        writerBlocked.countDown();
+        assertEquals(ImportStatusDTO.State.COMPLETED, result.get(10, TimeUnit.SECONDS).getState());
+        assertEquals(ImportStatusDTO.State.COMPLETED,
+                productImportService.importProducts(ExportFormat.CSV, null, stream("name,price,stock,supplierId\n")).getState());
+    }
+
+    @Test
+    void getImport_ShouldThrowForAnUnknownImport() {
+        assertThrows(EntityNotFoundException.class, () -> productImportService.getImport("42"));
+    }
+
+    private List<BatchItemResultDTO> created(List<ProductDTO> batch) {
+        written.addAll(batch);
+        List<BatchItemResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            results.add(new BatchItemResultDTO(i, (long) i, BatchItemResultDTO.Status.CREATED, null));
+        }
+        return results;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
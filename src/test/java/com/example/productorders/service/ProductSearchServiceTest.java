@@ -0,0 +1,95 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.ProductSearchHitDTO;
+import com.example.productorders.config.PaginationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchServiceTest {
+
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchService = new ProductSearchService(null, null, new PaginationProperties());
+        productSearchService.index(1L, "Red Running Shoe");
+        productSearchService.index(2L, "Red Shoe");
+        productSearchService.index(3L, "Blue Running Jacket");
+        productSearchService.index(4L, "Redwood Table");
+    }
+
+    @Test
+    void search_ShouldRequireEveryTokenAndRankShorterNamesFirst() {
+        List<ProductSearchHitDTO> hits = productSearchService.search("shoe RED", SearchMode.FULL, null);
+
+        assertEquals(List.of(2L, 1L), hits.stream().map(ProductSearchHitDTO::getId).toList());
+        assertEquals("Red Shoe", hits.get(0).getName());
+        assertEquals(1.0, hits.get(0).getScore());
+    }
+
+    @Test
+    void search_ShouldMatchWholeTokensOnlyInFullMode() {
+        List<ProductSearchHitDTO> hits = productSearchService.search("red", SearchMode.FULL, null);
+
+        assertEquals(List.of(2L, 1L), hits.stream().map(ProductSearchHitDTO::getId).toList());
+    }
+
+    @Test
+    void search_ShouldTreatLastTokenAsPrefixInPrefixMode() {
+        List<ProductSearchHitDTO> hits = productSearchService.search("re", SearchMode.PREFIX, null);
+
+        assertEquals(List.of(1L, 2L, 4L), hits.stream().map(ProductSearchHitDTO::getId).sorted().toList());
+
+        List<ProductSearchHitDTO> running = productSearchService.search("running ja", SearchMode.PREFIX, null);
+        assertEquals(List.of(3L), running.stream().map(ProductSearchHitDTO::getId).toList());
+    }
+
+    @Test
+    void search_ShouldRankExactMatchesAbovePrefixMatches() {
+        productSearchService.index(5L, "Red Table");
+
+        List<ProductSearchHitDTO> hits = productSearchService.search("red ta", SearchMode.PREFIX, null);
+
+        assertEquals(List.of(5L), hits.stream().map(ProductSearchHitDTO::getId).toList());
+        assertEquals(0.75, hits.get(0).getScore());
+    }
+
+    @Test
+    void search_ShouldApplyLimit() {
+        List<ProductSearchHitDTO> hits = productSearchService.search("red", SearchMode.PREFIX, 1);
+
+        assertEquals(1, hits.size());
+        assertEquals(2L, hits.get(0).getId());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousName() {
+        productSearchService.index(2L, "Green Hat");
+
+        assertEquals(List.of(1L), productSearchService.search("red shoe", SearchMode.FULL, null).stream().map(ProductSearchHitDTO::getId).toList());
+        assertEquals(List.of(2L), productSearchService.search("green", SearchMode.FULL, null).stream().map(ProductSearchHitDTO::getId).toList());
+        assertEquals(4, productSearchService.size());
+    }
+
+    @Test
+    void remove_ShouldDropProductFromResults() {
+        productSearchService.remove(3L);
+
+        assertTrue(productSearchService.search("jacket", SearchMode.FULL, null).isEmpty());
+        assertEquals(3, productSearchService.size());
+    }
+
+    @Test
+    void search_ShouldReturnEmptyWhenATokenIsUnknown() {
+        assertTrue(productSearchService.search("red submarine", SearchMode.FULL, null).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRejectQueryWithoutTokens() {
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search(" -- ", SearchMode.FULL, null));
+    }
+}
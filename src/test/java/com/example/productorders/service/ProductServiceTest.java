@@ -1,17 +1,33 @@
 package com.example.productorders.service;
 
+import com.example.productorders.DTO.MultiGetDTO;
+import com.example.productorders.DTO.PageDTO;
+import com.example.productorders.DTO.ProductFilterDTO;
 import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.ProductStockDTO;
 import com.example.productorders.DTO.ProductSupplierDTO;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.exception.InsufficientStockException;
 import com.example.productorders.model.Product;
 import com.example.productorders.model.Supplier;
 import com.example.productorders.repository.ProductRepository;
+import com.example.productorders.repository.ProductSort;
 import com.example.productorders.repository.SupplierRepository;
+import com.example.productorders.util.KeysetCursor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +44,21 @@ class ProductServiceTest {
     @Mock
     private SupplierRepository supplierRepository;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS);
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ProductService productService;
 
@@ -49,12 +80,13 @@ class ProductServiceTest {
 
         ProductDTO productDTO = new ProductDTO(product.getId(),product.getName(),product.getPrice(),product.getStock(),product.getSupplier().getId());
 
-        when(productRepository.existsById(productDTO.getId())).thenReturn(true);
-        doNothing().when(productRepository).deleteById(productDTO.getId());
+        when(productRepository.deleteProductById(productDTO.getId())).thenReturn(1);
 
         productService.deleteProduct(productDTO.getId());
 
-        verify(productRepository, times(1)).deleteById(productDTO.getId());
+        verify(productRepository, times(1)).deleteProductById(productDTO.getId());
+        verify(productRepository, never()).existsById(any());
+        verify(productSearchService).remove(productDTO.getId());
     }
 
     @Test
@@ -95,6 +127,24 @@ class ProductServiceTest {
         assertEquals(supplier, product.getSupplier());
     }
 
+    @Test
+    void fromDTOToEntity_ShouldCreateWithoutTheIdWhenItMatchesNoProduct() {
+        ProductDTO productDTO = new ProductDTO(5L, "Test Product", 100.0, 50.0, 1L);
+
+        when(supplierRepository.findById(1L)).thenReturn(Optional.of(supplier));
+        when(productRepository.findById(5L)).thenReturn(Optional.empty());
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Product product = productService.fromDTOToEntity(productDTO);
+
+        ArgumentCaptor<Product> saved = ArgumentCaptor.forClass(Product.class);
+        verify(productRepository).save(saved.capture());
+        assertNull(saved.getValue().getId());
+        assertNull(saved.getValue().getVersion());
+        assertEquals("Test Product", product.getName());
+        assertEquals(supplier, product.getSupplier());
+    }
+
     @Test
     void fromDTOToEntity_ShouldHandleNullDTO() {
         ProductDTO productDTO = null;
@@ -125,6 +175,7 @@ class ProductServiceTest {
         assertEquals(product.getPrice(), result.getPrice());
         assertEquals(product.getStock(), result.getStock());
         assertEquals(product.getSupplier().getId(), result.getSupplierId());
+        verify(productSearchService).index(any(), eq("Test Product"));
     }
 
     @Test
@@ -175,7 +226,7 @@ class ProductServiceTest {
     @Test
     void deleteProduct_ShouldThrowExceptionIfProductNotFound() {
         Long productId = 999L;  // Non-existent product ID
-        when(productRepository.existsById(productId)).thenReturn(false);
+        when(productRepository.deleteProductById(productId)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> productService.deleteProduct(productId));
     }
@@ -222,9 +273,9 @@ class ProductServiceTest {
         Supplier supplier = new Supplier(1L, "Test Supplier", "993-446-5678", "supplier@rmail.com");
         Product product1 = new Product(1L, "Product 1", 100.0, 50.0, supplier);
         Product product2 = new Product(2L, "Product 2", 150.0, 60.0, supplier);
-        List<Product> productList = List.of(product1, product2);
+        List<ProductDTO> productList = List.of(productService.fromEntityToDTO(product1), productService.fromEntityToDTO(product2));
 
-        when(productRepository.findAll()).thenReturn(productList);
+        when(productRepository.findAllProductDTOs()).thenReturn(productList);
 
         List<ProductDTO> result = productService.getProducts();
 
@@ -236,7 +287,7 @@ class ProductServiceTest {
 
     @Test
     void getProducts_ShouldReturnEmptyListWhenNoProducts() {
-        when(productRepository.findAll()).thenReturn(new ArrayList<>());  // Empty product list
+        when(productRepository.findAllProductDTOs()).thenReturn(new ArrayList<>());  // Empty product list
 
         List<ProductDTO> result = productService.getProducts();
 
@@ -246,11 +297,11 @@ class ProductServiceTest {
 
     @Test
     void getProducts_ShouldReturnCorrectNumberOfProducts() {
-        List<Product> products = new ArrayList<>();
+        List<ProductDTO> products = new ArrayList<>();
         for (long i = 1; i <= 1000; i++) {
-            products.add(new Product(i, "Product " + i, 100.0, 50.0, new Supplier(i, "Supplier " + i, "123-456-7890", "supplier" + i + "@mail.com")));
+            products.add(new ProductDTO(i, "Product " + i, 100.0, 50.0, i));
         }
-        when(productRepository.findAll()).thenReturn(products);
+        when(productRepository.findAllProductDTOs()).thenReturn(products);
 
         List<ProductDTO> result = productService.getProducts();
 
@@ -263,30 +314,197 @@ class ProductServiceTest {
     void getProductSupplier_ShouldReturnProductSupplierDTO() {
         ProductSupplierDTO expectedDTO = new ProductSupplierDTO(product.getName(), product.getPrice(), product.getStock(), supplier.getName(), supplier.getPhoneNum(), supplier.getEmail());
 
-        when(productRepository.existsById(1L)).thenReturn(true);
-        when(productRepository.findProductWithSupplier(1L)).thenReturn(product);
+        when(productRepository.findProductSupplierDTO(1L)).thenReturn(Optional.of(expectedDTO));
 
         ProductSupplierDTO result = productService.getProductSupplier(1L);
 
         assertNotNull(result);
         assertEquals(expectedDTO.getProduct_name(), result.getProduct_name());
         assertEquals(expectedDTO.getSupplier_name(), result.getSupplier_name());
+        verify(productRepository, never()).existsById(any());
     }
 
     @Test
     void getProductSupplier_ShouldThrowExceptionIfProductNotFound() {
         Long productId = 999L;  // Non-existent product ID
-        when(productRepository.findProductWithSupplier(productId)).thenReturn(null);
+        when(productRepository.findProductSupplierDTO(productId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> productService.getProductSupplier(productId));
     }
 
     @Test
     void getProductSupplier_ShouldThrowExceptionIfProductHasNoSupplier() {
-        when(productRepository.findProductWithSupplier(1L)).thenReturn(product);
+        // The inner join drops products without a supplier, so the projection comes back empty
+        when(productRepository.findProductSupplierDTO(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> productService.getProductSupplier(1L));
     }
 
+    @Test
+    void getProductPage_ShouldReturnNextCursorWhenMoreRowsExist() {
+        ProductDTO product1 = new ProductDTO(1L, "Product 1", 100.0, 50.0, 1L);
+        ProductDTO product2 = new ProductDTO(2L, "Product 2", 150.0, 60.0, 1L);
+        ProductDTO product3 = new ProductDTO(3L, "Product 3", 200.0, 70.0, 1L);
+
+        when(productRepository.findProductDTOsAfter(0L, Limit.of(3))).thenReturn(List.of(product1, product2, product3));
+
+        PageDTO<ProductDTO> page = productService.getProductPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, page.getItems().get(1).getId());
+        assertEquals(2L, KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getProductPage_ShouldContinueAfterCursor() {
+        ProductDTO product3 = new ProductDTO(3L, "Product 3", 200.0, 70.0, 1L);
+
+        when(productRepository.findProductDTOsAfter(2L, Limit.of(3))).thenReturn(List.of(product3));
+
+        PageDTO<ProductDTO> page = productService.getProductPage(KeysetCursor.encode(2L), 2);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(3L, page.getItems().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getProductPage_ShouldCapPageSize() {
+        paginationProperties.setMaxSize(10);
+        when(productRepository.findProductDTOsAfter(0L, Limit.of(11))).thenReturn(new ArrayList<>());
+
+        productService.getProductPage(null, 5000);
+
+        verify(productRepository).findProductDTOsAfter(0L, Limit.of(11));
+    }
+
+    @Test
+    void getProductPage_ShouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void getProductPage_ShouldRejectNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductPage(null, 0));
+    }
+
+    @Test
+    void getFilteredProductPage_ShouldReturnSortCursorWhenMoreRowsExist() {
+        ProductFilterDTO filter = new ProductFilterDTO(10.0, 50.0, null, 5.0, 1L);
+        when(productRepository.findProductDTOs(filter, ProductSort.PRICE_DESC, null, 3)).thenReturn(List.of(
+                new ProductDTO(7L, "A", 40.0, 1.0, 1L),
+                new ProductDTO(3L, "B", 20.0, 2.0, 1L),
+                new ProductDTO(9L, "C", 15.0, 3.0, 1L)));
+
+        PageDTO<ProductDTO> page = productService.getFilteredProductPage(filter, ProductSort.PRICE_DESC, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(new KeysetCursor.Position(20.0, 3L), KeysetCursor.decode(page.getNextCursor(), "-price"));
+    }
+
+    @Test
+    void getFilteredProductPage_ShouldContinueAfterCursor() {
+        ProductFilterDTO filter = new ProductFilterDTO(null, null, null, null, 1L);
+        String cursor = KeysetCursor.encode("stock", 4.0, 12L);
+        when(productRepository.findProductDTOs(filter, ProductSort.STOCK, new KeysetCursor.Position(4.0, 12L), 11)).thenReturn(List.of());
+
+        PageDTO<ProductDTO> page = productService.getFilteredProductPage(filter, ProductSort.STOCK, cursor, 10);
 
-}
\ No newline at end of file
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getFilteredProductPage_ShouldRejectCursorFromAnotherSort() {
+        String cursor = KeysetCursor.encode("price", 4.0, 12L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.getFilteredProductPage(new ProductFilterDTO(), ProductSort.STOCK, cursor, 10));
+    }
+
+    @Test
+    void getFilteredProductPage_ShouldRejectInvertedRange() {
+        ProductFilterDTO filter = new ProductFilterDTO(50.0, 10.0, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getFilteredProductPage(filter, ProductSort.ID, null, 10));
+        verify(productRepository, never()).findProductDTOs(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void reserveStock_ShouldReturnRemainingStock() {
+        when(productRepository.reserveStock(1L, 5.0)).thenReturn(Optional.of(45.0));
+
+        ProductStockDTO result = productService.reserveStock(1L, 5.0);
+
+        assertEquals(1L, result.getProductId());
+        assertEquals(45.0, result.getStock());
+        verify(productRepository, never()).existsById(any());
+    }
+
+    @Test
+    void reserveStock_ShouldThrowWhenStockIsInsufficient() {
+        when(productRepository.reserveStock(1L, 500.0)).thenReturn(Optional.empty());
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(InsufficientStockException.class, () -> productService.reserveStock(1L, 500.0));
+    }
+
+    @Test
+    void reserveStock_ShouldThrowWhenProductNotFound() {
+        when(productRepository.reserveStock(999L, 1.0)).thenReturn(Optional.empty());
+        when(productRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> productService.reserveStock(999L, 1.0));
+    }
+
+    @Test
+    void reserveStock_ShouldRejectNonPositiveQuantity() {
+        assertThrows(IllegalArgumentException.class, () -> productService.reserveStock(1L, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> productService.reserveStock(1L, null));
+    }
+
+    @Test
+    void releaseStock_ShouldReturnNewStock() {
+        when(productRepository.releaseStock(1L, 5.0)).thenReturn(Optional.of(55.0));
+
+        assertEquals(55.0, productService.releaseStock(1L, 5.0).getStock());
+    }
+
+    @Test
+    void getProductsByIds_ShouldKeepRequestOrderAndReportMissingIds() {
+        ProductDTO first = new ProductDTO(1L, "First", 1.0, 1.0, 1L, 0L);
+        ProductDTO third = new ProductDTO(3L, "Third", 3.0, 3.0, 1L, 0L);
+        when(productRepository.findProductDTOsByIds(List.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
+
+        MultiGetDTO<ProductDTO> result = productService.getProductsByIds(List.of(3L, 2L, 3L, 1L));
+
+        assertEquals(List.of(third, first), result.getItems());
+        assertEquals(List.of(2L), result.getMissingIds());
+    }
+
+    @Test
+    void getProductsByIds_ShouldOnlyLoadIdsMissingFromTheCache() {
+        ProductDTO cached = new ProductDTO(1L, "Cached", 1.0, 1.0, 1L, 0L);
+        ProductDTO loaded = new ProductDTO(2L, "Loaded", 2.0, 2.0, 1L, 0L);
+        cacheManager.getCache(CacheConfig.PRODUCTS).put(1L, cached);
+        when(productRepository.findProductDTOsByIds(List.of(2L))).thenReturn(List.of(loaded));
+
+        assertEquals(List.of(cached, loaded), productService.getProductsByIds(List.of(1L, 2L)).getItems());
+        assertEquals(List.of(cached, loaded), productService.getProductsByIds(List.of(1L, 2L)).getItems());
+
+        verify(productRepository, times(1)).findProductDTOsByIds(any());
+    }
+
+    @Test
+    void getProductsByIds_ShouldRejectInvalidIdLists() {
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= paginationProperties.getMaxSize() + 1; id++) {
+            tooMany.add(id);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(tooMany));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(List.of(1L, -1L)));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(null));
+        verifyNoInteractions(productRepository);
+    }
+}
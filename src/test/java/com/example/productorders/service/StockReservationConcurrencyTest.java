@@ -0,0 +1,109 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.exception.InsufficientStockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers a single hot product with concurrent reservations to prove the conditional update neither
+ * loses a decrement nor oversells.
+ */
+@SpringBootTest
+class StockReservationConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS = 3000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        double initialStock = 1000.0;
+        Long productId = createProduct(initialStock);
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(ATTEMPTS, () -> {
+            try {
+                productService.reserveStock(productId, 1.0);
+                reserved.incrementAndGet();
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertEquals(initialStock, reserved.get());
+        assertEquals(ATTEMPTS - initialStock, rejected.get());
+        assertEquals(0.0, productService.getProductById(productId).getStock());
+    }
+
+    @Test
+    void concurrentReserveAndReleaseBalance() throws Exception {
+        double initialStock = 500.0;
+        Long productId = createProduct(initialStock);
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        AtomicInteger counter = new AtomicInteger();
+        runConcurrently(ATTEMPTS, () -> {
+            if (counter.getAndIncrement() % 2 == 0) {
+                try {
+                    productService.reserveStock(productId, 2.0);
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException ignored) {
+                    // stock ran dry for a moment; the release below will refill it
+                }
+            } else {
+                productService.releaseStock(productId, 1.0);
+                released.incrementAndGet();
+            }
+        });
+
+        double expected = initialStock - 2.0 * reserved.get() + released.get();
+        assertEquals(expected, productService.getProductById(productId).getStock());
+    }
+
+    private Long createProduct(double stock) {
+        SupplierDTO supplier = supplierService.saveSupplier(new SupplierDTO("Hot Supplier", "908-897-0980", "supplier@email.com"));
+        return productService.saveProduct(new ProductDTO("Hot SKU", 9.99, stock, supplier.getId())).getId();
+    }
+
+    private void runConcurrently(int attempts, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
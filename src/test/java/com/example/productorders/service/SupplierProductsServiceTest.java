@@ -0,0 +1,147 @@
+package com.example.productorders.service;
+
+import com.example.productorders.DTO.BulkUpdateResultDTO;
+import com.example.productorders.DTO.PriceAdjustmentDTO;
+import com.example.productorders.DTO.ProductDTO;
+import com.example.productorders.DTO.StockLevelDTO;
+import com.example.productorders.config.BulkWriteProperties;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.exception.SupplierInUseException;
+import com.example.productorders.repository.IdRange;
+import com.example.productorders.repository.OrderRepository;
+import com.example.productorders.repository.ProductRepository;
+import com.example.productorders.repository.SupplierRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class SupplierProductsServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Spy
+    private BulkWriteProperties bulkWriteProperties = new BulkWriteProperties();
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS, CacheConfig.PRODUCT_SUPPLIERS);
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @InjectMocks
+    private SupplierProductsService supplierProductsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        bulkWriteProperties.setChunkSize(2);
+        when(supplierRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    void adjustPrices_ShouldScaleAllProductsInOneStatementForASmallSupplier() {
+        when(productRepository.findIdRangeBySupplierId(1L)).thenReturn(new IdRange(2L, 10L, 500L));
+        when(productRepository.scaleSupplierPrices(1L, 1 + 7.0 / 100, 10L, 500L)).thenReturn(List.of(10L, 500L));
+        cacheManager.getCache(CacheConfig.PRODUCTS).put(10L, new ProductDTO(10L, "Lamp", 10.0, 5.0, 1L, 0L));
+        String before = catalogVersions.productsTag();
+
+        BulkUpdateResultDTO result = supplierProductsService.adjustPrices(1L, new PriceAdjustmentDTO(7.0, null));
+
+        assertEquals(new BulkUpdateResultDTO(1L, 2), result);
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(10L));
+        assertNotEquals(before, catalogVersions.productsTag());
+    }
+
+    @Test
+    void setStock_ShouldSplitALargeSupplierIntoIdWindows() {
+        // 4 products over ids 1..8: windows of width 4 hold about two of them each
+        when(productRepository.findIdRangeBySupplierId(1L)).thenReturn(new IdRange(4L, 1L, 8L));
+        when(productRepository.setSupplierStock(1L, 0.0, 1L, 4L)).thenReturn(List.of(1L, 3L));
+        when(productRepository.setSupplierStock(1L, 0.0, 5L, 8L)).thenReturn(List.of(8L));
+
+        BulkUpdateResultDTO result = supplierProductsService.setStock(1L, new StockLevelDTO(0.0));
+
+        assertEquals(3, result.getUpdated());
+        verify(productRepository, times(2)).setSupplierStock(anyLong(), anyDouble(), anyLong(), anyLong());
+    }
+
+    @Test
+    void setStock_ShouldNotWriteForASupplierWithoutProducts() {
+        when(productRepository.findIdRangeBySupplierId(1L)).thenReturn(new IdRange(0L, null, null));
+        String before = catalogVersions.productsTag();
+
+        assertEquals(0, supplierProductsService.setStock(1L, new StockLevelDTO(3.0)).getUpdated());
+
+        verify(productRepository, never()).setSupplierStock(anyLong(), anyDouble(), anyLong(), anyLong());
+        assertEquals(before, catalogVersions.productsTag());
+    }
+
+    @Test
+    void adjustPrices_ShouldRejectInvalidAdjustments() {
+        assertThrows(IllegalArgumentException.class, () -> supplierProductsService.adjustPrices(1L, new PriceAdjustmentDTO(null, null)));
+        assertThrows(IllegalArgumentException.class, () -> supplierProductsService.adjustPrices(1L, new PriceAdjustmentDTO(5.0, 10.0)));
+        assertThrows(IllegalArgumentException.class, () -> supplierProductsService.adjustPrices(1L, new PriceAdjustmentDTO(-100.0, null)));
+        assertThrows(IllegalArgumentException.class, () -> supplierProductsService.adjustPrices(1L, new PriceAdjustmentDTO(null, -1.0)));
+        assertThrows(IllegalArgumentException.class, () -> supplierProductsService.setStock(1L, new StockLevelDTO(-1.0)));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void adjustPrices_ShouldThrowForAnUnknownSupplier() {
+        assertThrows(EntityNotFoundException.class, () -> supplierProductsService.adjustPrices(99L, new PriceAdjustmentDTO(null, 1.0)));
+    }
+
+    @Test
+    void deleteProducts_ShouldDeleteInWindowsAndDropThemFromSearch() {
+        when(productRepository.findIdRangeBySupplierId(1L)).thenReturn(new IdRange(2L, 4L, 9L));
+        when(productRepository.deleteSupplierProducts(1L, 4L, 9L)).thenReturn(List.of(4L, 9L));
+
+        assertEquals(2, supplierProductsService.deleteProducts(1L));
+
+        verify(productSearchService).remove(4L);
+        verify(productSearchService).remove(9L);
+    }
+
+    @Test
+    void deleteProducts_ShouldRefuseWhileProductsAreOnOrders() {
+        when(orderRepository.existsLineForSupplier(1L)).thenReturn(true);
+
+        assertThrows(SupplierInUseException.class, () -> supplierProductsService.deleteProducts(1L));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void reassignProducts_ShouldRequireAnotherExistingSupplier() {
+        assertThrows(IllegalArgumentException.class, () -> supplierProductsService.reassignProducts(1L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> supplierProductsService.reassignProducts(1L, null));
+        assertThrows(EntityNotFoundException.class, () -> supplierProductsService.reassignProducts(1L, 2L));
+
+        verifyNoInteractions(productRepository);
+    }
+}
@@ -1,16 +1,30 @@
 package com.example.productorders.service;
 
+import com.example.productorders.DTO.MultiGetDTO;
+import com.example.productorders.DTO.PageDTO;
 import com.example.productorders.DTO.SupplierDTO;
+import com.example.productorders.DTO.SupplierSummaryDTO;
+import com.example.productorders.config.CacheConfig;
+import com.example.productorders.config.InventoryProperties;
+import com.example.productorders.config.PaginationProperties;
+import com.example.productorders.exception.SupplierInUseException;
 import com.example.productorders.model.Product;
 import com.example.productorders.model.Supplier;
 import com.example.productorders.repository.SupplierRepository;
+import com.example.productorders.util.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +38,21 @@ class SupplierServiceTest {
     @Mock
     private SupplierRepository supplierRepository;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Spy
+    private InventoryProperties inventoryProperties = new InventoryProperties();
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.SUPPLIERS);
+
+    @Mock
+    private SupplierProductsService supplierProductsService;
+
     @InjectMocks
     private SupplierService supplierService;
 
@@ -154,6 +183,7 @@ class SupplierServiceTest {
         SupplierDTO supplierDTO = new SupplierDTO(1L, "Test Supplier 2", "888-900-9800", "testemail@email.com");
 
         when(supplierRepository.findById(1L)).thenReturn(Optional.of(supplier));
+        when(supplierRepository.save(supplier)).thenReturn(supplier);
 
         SupplierDTO result = supplierService.updateSupplier(supplierDTO, 1L);
 
@@ -226,12 +256,11 @@ class SupplierServiceTest {
     void deleteSupplier_DeleteIfExists() {
         SupplierDTO supplierDTO = new SupplierDTO(supplier.getId(),supplier.getName(),supplier.getPhoneNum(),supplier.getEmail());
 
-        when(supplierRepository.existsById(supplierDTO.getId())).thenReturn(true);
-        doNothing().when(supplierRepository).deleteById(supplierDTO.getId());
+        when(supplierRepository.deleteSupplierById(supplierDTO.getId())).thenReturn(1);
 
-        supplierService.deleteSupplier(supplierDTO.getId());
+        supplierService.deleteSupplier(supplierDTO.getId(), SupplierDeletion.REJECT, null);
 
-        verify(supplierRepository,times(1)).deleteById(supplierDTO.getId());
+        verify(supplierRepository,times(1)).deleteSupplierById(supplierDTO.getId());
 
     }
 
@@ -242,7 +271,7 @@ class SupplierServiceTest {
 
         when(supplierRepository.findById(999L)).thenReturn(Optional.empty());
 
-         assertThrows(EntityNotFoundException.class,()->{supplierService.deleteSupplier(id);});
+         assertThrows(EntityNotFoundException.class,()->{supplierService.deleteSupplier(id, SupplierDeletion.REJECT, null);});
     }
 
     @Test
@@ -250,7 +279,130 @@ class SupplierServiceTest {
 
         Long id =-1L;
 
-        assertThrows(EntityNotFoundException.class,()->{supplierService.deleteSupplier(id);});
+        assertThrows(EntityNotFoundException.class,()->{supplierService.deleteSupplier(id, SupplierDeletion.REJECT, null);});
+    }
+
+    @Test
+    void deleteSupplier_ShouldDeleteProductsFirstOnCascade() {
+        when(supplierRepository.deleteSupplierById(1L)).thenReturn(1);
+
+        supplierService.deleteSupplier(1L, SupplierDeletion.CASCADE, null);
+
+        InOrder inOrder = inOrder(supplierProductsService, supplierRepository);
+        inOrder.verify(supplierProductsService).deleteProducts(1L);
+        inOrder.verify(supplierRepository).deleteSupplierById(1L);
+    }
+
+    @Test
+    void deleteSupplier_ShouldMoveProductsFirstOnReassign() {
+        when(supplierRepository.deleteSupplierById(1L)).thenReturn(1);
+
+        supplierService.deleteSupplier(1L, SupplierDeletion.REASSIGN, 2L);
+
+        verify(supplierProductsService).reassignProducts(1L, 2L);
+        verify(supplierProductsService, never()).deleteProducts(any());
+    }
+
+    @Test
+    void deleteSupplier_ShouldRefuseASupplierThatStillHasProducts() {
+        when(supplierProductsService.hasProducts(1L)).thenReturn(true);
+        String before = catalogVersions.suppliersTag();
+
+        assertThrows(SupplierInUseException.class, () -> supplierService.deleteSupplier(1L, SupplierDeletion.REJECT, null));
+
+        verify(supplierRepository, never()).deleteSupplierById(any());
+        assertEquals(before, catalogVersions.suppliersTag());
+    }
+
+    @Test
+    void deleteSupplier_ShouldRefuseWhenAProductIsAddedBeforeTheDelete() {
+        when(supplierRepository.deleteSupplierById(1L)).thenThrow(new DataIntegrityViolationException("fk_product_supplier"));
+
+        assertThrows(SupplierInUseException.class, () -> supplierService.deleteSupplier(1L, SupplierDeletion.REJECT, null));
+    }
+
+    @Test
+    void getSupplierPage_ShouldReturnNextCursorWhenMoreRowsExist() {
+        Supplier s2 = new Supplier(2L, "Test Supplier 2", "678-908-7890", "testsupplier2@email.com");
+
+        when(supplierRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(supplier, s2));
+
+        PageDTO<SupplierDTO> page = supplierService.getSupplierPage(null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, KeysetCursor.decode(page.getNextCursor()));
     }
-}
 
+    @Test
+    void getSupplierPage_ShouldReturnLastPageWithoutCursor() {
+        when(supplierRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(101))).thenReturn(new ArrayList<>());
+
+        PageDTO<SupplierDTO> page = supplierService.getSupplierPage(KeysetCursor.encode(1L), null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getSupplierSummaries_ShouldUseConfiguredLowStockThreshold() {
+
+        inventoryProperties.setLowStockThreshold(3);
+        List<SupplierSummaryDTO> summaries = List.of(new SupplierSummaryDTO(1L, 2L, 1L, 12.0, 120.0, 10.0));
+        when(supplierRepository.findSupplierSummaries(3.0)).thenReturn(summaries);
+
+        assertEquals(summaries, supplierService.getSupplierSummaries());
+    }
+
+    @Test
+    void getSupplierSummary_ShouldReturnSummary() {
+
+        SupplierSummaryDTO summary = new SupplierSummaryDTO(1L, 0L, 0L, 0.0, 0.0, null);
+        when(supplierRepository.findSupplierSummary(1L, inventoryProperties.getLowStockThreshold())).thenReturn(Optional.of(summary));
+
+        assertEquals(summary, supplierService.getSupplierSummary(1L));
+    }
+
+    @Test
+    void getSupplierSummary_ShouldThrowExceptionIfSupplierNotFound() {
+
+        when(supplierRepository.findSupplierSummary(eq(999L), anyDouble())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> {
+            supplierService.getSupplierSummary(999L);
+        });
+    }
+
+    @Test
+    void getSupplierSummary_ShouldThrowExceptionForInvalidId() {
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            supplierService.getSupplierSummary(-1L);
+        });
+
+        verifyNoInteractions(supplierRepository);
+    }
+
+    @Test
+    void writes_ShouldChangeTheSuppliersTag() {
+        String before = catalogVersions.suppliersTag();
+        when(supplierRepository.deleteSupplierById(1L)).thenReturn(1);
+
+        supplierService.deleteSupplier(1L, SupplierDeletion.REJECT, null);
+
+        assertNotEquals(before, catalogVersions.suppliersTag());
+    }
+
+    @Test
+    void getSuppliersByIds_ShouldServeCachedSuppliersAndLoadTheRest() {
+        SupplierDTO cached = new SupplierDTO(2L, "Cached", "888-900-989", "cached@email.com", 0L);
+        SupplierDTO loaded = new SupplierDTO(1L, "Loaded", "888-900-989", "loaded@email.com", 0L);
+        cacheManager.getCache(CacheConfig.SUPPLIERS).put(2L, cached);
+        when(supplierRepository.findSupplierDTOsByIds(List.of(1L, 5L))).thenReturn(List.of(loaded));
+
+        MultiGetDTO<SupplierDTO> result = supplierService.getSuppliersByIds(List.of(1L, 2L, 5L));
+
+        assertEquals(List.of(loaded, cached), result.getItems());
+        assertEquals(List.of(5L), result.getMissingIds());
+        assertEquals(loaded, cacheManager.getCache(CacheConfig.SUPPLIERS).get(1L, SupplierDTO.class));
+    }
+}